@@ -0,0 +1,226 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.SortedMap;
+
+/**
+ * Base of the paged panes that do not hold their buttons, e.g. {@link LazyPagedPane} loads them.
+ * Navigation, controls and the page title work like in {@link PagedPane}, which holds its buttons and is a {@link Pane}.
+ * <p>
+ * The controls are only shown in the slots after the page. A single row pane with a page of one row has no room for them,
+ * its pages can only be changed with {@link #selectPage(int)}.
+ *
+ * @author I Al Ianstaan
+ * @author TheSilentPro
+ */
+public abstract class AbstractPagedPane extends AbstractPane implements Paginated {
+
+    private final PageNavigation<AbstractPagedPane> navigation;
+
+    /**
+     * @param pageSize The page size
+     */
+    protected AbstractPagedPane(int pageSize, int rows, @Nonnull String title) {
+        super(rows, PageNavigation.color(title));
+
+        this.navigation = new PageNavigation<>(this, pageSize);
+    }
+
+    /**
+     * @return The amount of pages
+     */
+    @Override
+    public abstract int getPageAmount();
+
+    /**
+     * @return The pages that are held in memory, by index
+     */
+    @Override
+    public abstract SortedMap<Integer, Page> getPages();
+
+    /**
+     * @param index The page index
+     * @return The page
+     */
+    @Override
+    public abstract Page getPage(int index);
+
+    /**
+     * @return The number of the current page (1 based)
+     */
+    @Override
+    public int getCurrentPage() {
+        return navigation.getCurrentIndex() + 1;
+    }
+
+    /**
+     * @param index The index of the new page
+     */
+    @Override
+    public void selectPage(int index) {
+        navigation.selectPage(index);
+    }
+
+    /**
+     * @return The index of the current page (0 based)
+     */
+    protected int getCurrentIndex() {
+        return navigation.getCurrentIndex();
+    }
+
+    /**
+     * Moves to a page without rendering, for implementations whose pages changed
+     *
+     * @param index The index of the current page
+     */
+    protected void setCurrentIndex(int index) {
+        navigation.setCurrentIndex(index);
+    }
+
+    /**
+     * Renders the inventory again, pushing only the slots that changed since the last render
+     */
+    @Override
+    public void reRender() {
+        navigation.render();
+    }
+
+    /**
+     * Shows the current page in the title. Page flips update the title of open views in place.
+     *
+     * @param titleFormat The title, {@code {page}} and {@code {pages}} are replaced with the current page and the page amount.
+     *                    Null for a fixed title.
+     */
+    public void setTitleFormat(@Nullable String titleFormat) {
+        navigation.setTitleFormat(titleFormat);
+    }
+
+    @Override
+    public void setTitle(@Nonnull String title) {
+        Validate.notNull(title, "title can not be null!");
+
+        super.setTitle(PageNavigation.color(title));
+    }
+
+    @Nullable
+    public String getTitleFormat() {
+        return navigation.getTitleFormat();
+    }
+
+    /**
+     * @param event The {@link InventoryClickEvent}
+     */
+    @Override
+    public void onClick(InventoryClickEvent event) {
+        navigation.onClick(event);
+    }
+
+    /**
+     * @return The amount of rows of a single page
+     */
+    @Override
+    public int getPageSize() {
+        return navigation.getPageSize();
+    }
+
+    @Override
+    public int getButtonCount() {
+        int buttons = 0;
+        for (Page page : getPages().values()) {
+            buttons += page.size();
+        }
+
+        return buttons;
+    }
+
+    /**
+     * @return The navigation controls
+     */
+    @Nonnull
+    @Override
+    public PageControls getControls() {
+        return navigation.getControls();
+    }
+
+    /**
+     * @param controls The navigation controls. Their size must match the inventory size.
+     */
+    @Override
+    public void setControls(@Nonnull PageControls controls) {
+        navigation.setControls(controls);
+    }
+
+    /**
+     * Sets the item for the border seperator
+     *
+     * @param item Border item
+     */
+    public void setBorderItem(@Nonnull ItemStack item) {
+        Validate.notNull(item, "Item must not be null!");
+
+        getControls().setBorderItem(item);
+        requestRender();
+    }
+
+    public void setControlCurrent(Button controlCurrent) {
+        navigation.setControlCurrent(controlCurrent);
+    }
+
+    /**
+     * Sets the "current page" item
+     *
+     * @param item Current Item
+     */
+    public void setCurrentItem(@Nonnull ItemStack item) {
+        Validate.notNull(item, "Item must not be null!");
+
+        getControls().setCurrentItem(item);
+        requestRender();
+    }
+
+    /**
+     * Sets the previous page item
+     *
+     * @param item Back item
+     */
+    public void setBackItem(@Nonnull ItemStack item) {
+        Validate.notNull(item, "Item must not be null!");
+
+        getControls().setBackItem(item);
+        requestRender();
+    }
+
+    /**
+     * Sets the next page item
+     *
+     * @param item Next item
+     */
+    public void setNextItem(@Nonnull ItemStack item) {
+        Validate.notNull(item, "Item must not be null!");
+
+        getControls().setNextItem(item);
+        requestRender();
+    }
+
+    public ItemStack getBorderItem() {
+        return getControls().getBorderItem();
+    }
+
+    public ItemStack getCurrentItem() {
+        return getControls().getCurrentItem();
+    }
+
+    public ItemStack getBackItem() {
+        return getControls().getBackItem();
+    }
+
+    public ItemStack getNextItem() {
+        return getControls().getNextItem();
+    }
+
+}
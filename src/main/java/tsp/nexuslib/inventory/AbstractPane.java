@@ -0,0 +1,308 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import tsp.nexuslib.task.TaskBackends;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Base of all panes: the inventory, rendering, the title and the lifecycle.
+ * It has no methods to change its buttons, those are added by the panes that support it, e.g. {@link Pane} and {@link PagedPane}.
+ *
+ * @author TheSilentPro
+ */
+public abstract class AbstractPane implements InventoryHolder {
+
+    // Panes changed since the last flush, all rendered by a single task at the end of the tick
+    private static final Set<AbstractPane> dirty = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final Inventory inventory;
+    // The inventory keeps the title it was created with, views opened later need the current one
+    private final String initialTitle;
+    private String title;
+
+    // What was last pushed to the inventory, used to only push changed slots
+    private ItemStack[] rendered;
+    // Depth of nested batch calls, renders requested inside a batch are collapsed into one at its end
+    private int batching;
+    private boolean renderPending;
+
+    private Consumer<Player> closeAction;
+    // Set if this pane was acquired from a pool
+    PanePool<?> pool;
+
+    protected AbstractPane(int rows, @Nonnull String title) {
+        Validate.notNull(title, "title can not be null!");
+
+        if (rows > 6) {
+            throw new IllegalArgumentException("Rows must be <= 6, got " + rows);
+        }
+
+        this.inventory = Bukkit.createInventory(this, rows * 9, title);
+        this.initialTitle = title;
+        this.title = title;
+    }
+
+    /**
+     * @param event The {@link InventoryClickEvent}
+     */
+    public abstract void onClick(InventoryClickEvent event);
+
+    /**
+     * Renders the inventory again, pushing only the slots that changed since the last render
+     */
+    public abstract void reRender();
+
+    /**
+     * @return The page that is currently shown
+     */
+    @Nonnull
+    protected abstract Page getVisiblePage();
+
+    /**
+     * @return Amount of buttons held by this pane, including loaded pages that are not shown
+     */
+    public abstract int getButtonCount();
+
+    /**
+     * Estimates the items this pane keeps in memory: the items of its buttons
+     * and the copies in the snapshot of the last render. Items shared between buttons are counted once per button.
+     *
+     * @return Amount of retained items
+     */
+    public int getRetainedItems() {
+        int items = getButtonCount();
+        ItemStack[] snapshot = rendered;
+        if (snapshot != null) {
+            for (ItemStack item : snapshot) {
+                if (item != null) {
+                    items++;
+                }
+            }
+        }
+
+        return items;
+    }
+
+    /**
+     * Marks the pane as changed. All changes made in one tick, from any thread, collapse into a single render
+     * at the end of the tick, done by one task shared by all panes.
+     * Inside {@link #batch(Runnable)} the render is done when the batch ends instead.
+     */
+    public void requestRender() {
+        if (batching > 0 && Bukkit.isPrimaryThread()) {
+            renderPending = true;
+            return;
+        }
+        // Without a plugin nothing can be scheduled, a pane built before the listener exists renders right away
+        if (!PaneRegistry.isInitialized() && Bukkit.isPrimaryThread()) {
+            reRender();
+            return;
+        }
+
+        dirty.add(this);
+        if (flushScheduled.compareAndSet(false, true)) {
+            TaskBackends.get().run(PaneRegistry.getPlugin(), AbstractPane::flush, -1, -1);
+        }
+    }
+
+    private static void flush() {
+        // Cleared first, a pane changed while flushing schedules the next flush
+        flushScheduled.set(false);
+        for (Iterator<AbstractPane> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            AbstractPane pane = iterator.next();
+            iterator.remove();
+            try {
+                pane.reRender();
+            } catch (RuntimeException ex) {
+                PaneRegistry.getPlugin().getLogger().log(Level.SEVERE, "Failed to render pane " + pane.getTitle(), ex);
+            }
+        }
+    }
+
+    /**
+     * Runs several changes and renders once, right after the last of them, instead of at the end of the tick.
+     * Must be called on the main thread.
+     *
+     * @param changes The changes
+     */
+    public void batch(@Nonnull Runnable changes) {
+        Validate.notNull(changes, "Changes must not be null!");
+
+        batching++;
+        try {
+            changes.run();
+        } finally {
+            if (--batching == 0 && renderPending) {
+                renderPending = false;
+                dirty.remove(this);
+                reRender();
+            }
+        }
+    }
+
+    /**
+     * Pushes the changed slots of the contents to the inventory.
+     * If most slots changed, the contents are pushed in a single update.
+     *
+     * @param contents The full contents of the inventory, indexed by slot
+     */
+    protected void push(@Nonnull ItemStack[] contents) {
+        Inventory inventory = getInventory();
+        if (rendered == null || rendered.length != contents.length) {
+            rendered = new ItemStack[contents.length];
+            inventory.clear();
+        }
+
+        // Compared once, the second pass only visits the changed slots
+        int[] changedSlots = new int[contents.length];
+        int changed = 0;
+        for (int i = 0; i < contents.length; i++) {
+            if (!isSimilar(rendered[i], contents[i])) {
+                changedSlots[changed++] = i;
+            }
+        }
+        if (changed == 0) {
+            return;
+        }
+
+        boolean full = changed > contents.length / 2;
+        if (full) {
+            inventory.setContents(contents);
+        }
+        for (int i = 0; i < changed; i++) {
+            int slot = changedSlots[i];
+            if (!full) {
+                inventory.setItem(slot, contents[slot]);
+            }
+            rendered[slot] = copy(contents[slot]);
+        }
+    }
+
+    private static boolean isSimilar(@Nullable ItemStack rendered, @Nullable ItemStack item) {
+        if (rendered == null || item == null) {
+            return rendered == item;
+        }
+
+        return rendered.equals(item);
+    }
+
+    // The rendered snapshot holds copies, items mutated in place are still detected as changed
+    @Nullable
+    private static ItemStack copy(@Nullable ItemStack item) {
+        return item != null ? item.clone() : null;
+    }
+
+    /**
+     * Updates the dynamic buttons that are shown and renders again if any of them changed
+     *
+     * @param tick The current tick of the {@link PaneTicker}
+     */
+    void updateDynamic(long tick) {
+        Page visible = getVisiblePage();
+        if (visible.hasDynamicButtons() && visible.updateDynamic(tick)) {
+            reRender();
+        }
+    }
+
+    /**
+     * Changes the title of the open views in place, without reopening the inventory
+     *
+     * @param title The new title
+     */
+    public void setTitle(@Nonnull String title) {
+        Validate.notNull(title, "title can not be null!");
+
+        if (title.equals(this.title)) {
+            return;
+        }
+
+        this.title = title;
+        for (HumanEntity viewer : new ArrayList<>(getInventory().getViewers())) {
+            InventoryView view = viewer.getOpenInventory();
+            if (view.getTopInventory().equals(getInventory())) {
+                view.setTitle(title);
+            }
+        }
+    }
+
+    @Nonnull
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Opens the inventory with the current title
+     *
+     * @param player The {@link Player} to open it for
+     */
+    protected void openView(@Nonnull Player player) {
+        InventoryView view = player.openInventory(getInventory());
+        if (view != null && !title.equals(initialTitle)) {
+            view.setTitle(title);
+        }
+    }
+
+    /**
+     * Called when a viewer closes this pane or quits
+     *
+     * @param player The viewer. May be null if the viewer is already gone.
+     */
+    protected void onClose(@Nullable Player player) {
+        if (closeAction != null && player != null) {
+            closeAction.accept(player);
+        }
+    }
+
+    /**
+     * Called once the last viewer closed this pane.
+     * Drops everything that is only needed while the pane is shown.
+     */
+    protected void release() {
+        rendered = null;
+        dirty.remove(this);
+        PaneTicker.untrack(this);
+    }
+
+    /**
+     * @param closeAction Called when a viewer closes this pane. May be null.
+     */
+    public void setCloseAction(@Nullable Consumer<Player> closeAction) {
+        this.closeAction = closeAction;
+    }
+
+    @Nonnull
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    /**
+     * @param player The {@link Player} to open it for
+     */
+    public void open(Player player) {
+        Validate.notNull(player, "Player must not be null!");
+
+        reRender();
+        openView(player);
+        PaneTicker.track(this);
+    }
+
+}
@@ -2,8 +2,10 @@ package tsp.nexuslib.inventory;
 
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
+import tsp.nexuslib.inventory.virtual.VirtualClick;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -11,11 +13,13 @@ import java.util.function.Consumer;
  */
 public class Button {
 
-    private static int counter;
-    private final int ID = counter++;
+    // Buttons may be created off the main thread, see PaneModel
+    private static final AtomicInteger counter = new AtomicInteger();
+    private final int ID = counter.getAndIncrement();
 
     private final ItemStack itemStack;
     private Consumer<InventoryClickEvent> action;
+    private Consumer<VirtualClick> virtualAction;
 
     /**
      * @param itemStack The Item
@@ -35,7 +39,19 @@ public class Button {
         this.action = action;
     }
 
-
+    /**
+     * Creates a button for a {@link tsp.nexuslib.inventory.virtual.VirtualPane}.
+     * A factory instead of a constructor, a lambda would be ambiguous between the two action types.
+     *
+     * @param itemStack The Item
+     * @param virtualAction The action when clicked in a virtual pane
+     * @return The button
+     */
+    public static Button virtual(ItemStack itemStack, Consumer<VirtualClick> virtualAction) {
+        Button button = new Button(itemStack);
+        button.setVirtualAction(virtualAction);
+        return button;
+    }
 
     /**
      * @return The icon
@@ -51,6 +67,20 @@ public class Button {
         this.action = action;
     }
 
+    /**
+     * @param virtualAction The action when clicked in a {@link tsp.nexuslib.inventory.virtual.VirtualPane}. May be null.
+     */
+    public void setVirtualAction(Consumer<VirtualClick> virtualAction) {
+        this.virtualAction = virtualAction;
+    }
+
+    /**
+     * @return True if the button has an action for clicks in a {@link tsp.nexuslib.inventory.virtual.VirtualPane}
+     */
+    public boolean hasVirtualAction() {
+        return virtualAction != null;
+    }
+
     /**
      * @param event The event that triggered it
      */
@@ -58,6 +88,15 @@ public class Button {
         action.accept(event);
     }
 
+    /**
+     * @param click The click in a virtual pane that triggered it
+     */
+    public void onVirtualClick(VirtualClick click) {
+        if (virtualAction != null) {
+            virtualAction.accept(click);
+        }
+    }
+
     // We do not want equals collisions. The default hashcode would not fulfil this contract.
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,167 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.event.inventory.ClickType;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how fast a viewer can click in panes with a token bucket per viewer.
+ * Shift and number key clicks additionally draw from a separate, stricter bucket.
+ * Clicks over the limit are dropped and counted.
+ * <p>
+ * Thread-safe, one limiter may be shared by clicks handled on different region threads.
+ */
+public class ClickLimiter {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    private final double rate;
+    private final double burst;
+    private final double specialRate;
+    private final double specialBurst;
+    private final Map<UUID, Buckets> buckets = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder droppedSpecial = new LongAdder();
+
+    /**
+     * @param clicksPerSecond Clicks per second a viewer can sustain
+     * @param burst Clicks a viewer can make at once
+     * @param specialPerSecond Shift and number key clicks per second a viewer can sustain
+     * @param specialBurst Shift and number key clicks a viewer can make at once
+     */
+    public ClickLimiter(double clicksPerSecond, int burst, double specialPerSecond, int specialBurst) {
+        Validate.isTrue(clicksPerSecond > 0, "Clicks per second must be > 0, got " + clicksPerSecond);
+        Validate.isTrue(burst >= 1, "Burst must be >= 1, got " + burst);
+        Validate.isTrue(specialPerSecond > 0, "Special clicks per second must be > 0, got " + specialPerSecond);
+        Validate.isTrue(specialBurst >= 1, "Special burst must be >= 1, got " + specialBurst);
+
+        this.rate = clicksPerSecond / NANOS_PER_SECOND;
+        this.burst = burst;
+        this.specialRate = specialPerSecond / NANOS_PER_SECOND;
+        this.specialBurst = specialBurst;
+    }
+
+    /**
+     * Creates a limiter allowing 10 clicks per second with a burst of 5,
+     * and 4 shift or number key clicks per second with a burst of 2
+     */
+    public ClickLimiter() {
+        this(10, 5, 4, 2);
+    }
+
+    /**
+     * Takes a token for a click
+     *
+     * @param uuid The viewer
+     * @param click The type of the click
+     * @return True if the click may be handled, false if it must be dropped
+     */
+    public boolean tryClick(@Nonnull UUID uuid, @Nonnull ClickType click) {
+        Validate.notNull(uuid, "UUID must not be null!");
+        Validate.notNull(click, "Click must not be null!");
+
+        boolean special = click.isShiftClick() || click == ClickType.NUMBER_KEY;
+        Buckets viewer = buckets.computeIfAbsent(uuid, key -> new Buckets(burst, specialBurst, System.nanoTime()));
+        // Clicks of one viewer are serialized, different viewers do not contend
+        synchronized (viewer) {
+            viewer.refill(System.nanoTime());
+
+            if (special && viewer.special < 1) {
+                droppedSpecial.increment();
+                viewer.dropped++;
+                return false;
+            }
+            if (viewer.tokens < 1) {
+                dropped.increment();
+                viewer.dropped++;
+                return false;
+            }
+
+            viewer.tokens--;
+            if (special) {
+                viewer.special--;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Drops the buckets of a viewer, e.g. when they quit
+     *
+     * @param uuid The viewer
+     */
+    public void remove(@Nonnull UUID uuid) {
+        buckets.remove(uuid);
+    }
+
+    /**
+     * @return Amount of clicks dropped by the general limit
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return Amount of shift and number key clicks dropped by their separate limit
+     */
+    public long getDroppedSpecial() {
+        return droppedSpecial.sum();
+    }
+
+    /**
+     * @param uuid The viewer
+     * @return Amount of clicks of the viewer that were dropped
+     */
+    public long getDropped(@Nonnull UUID uuid) {
+        Buckets viewer = buckets.get(uuid);
+        if (viewer == null) {
+            return 0;
+        }
+
+        synchronized (viewer) {
+            return viewer.dropped;
+        }
+    }
+
+    /**
+     * Resets the drop counters
+     */
+    public void resetCounters() {
+        dropped.reset();
+        droppedSpecial.reset();
+        for (Buckets viewer : buckets.values()) {
+            synchronized (viewer) {
+                viewer.dropped = 0;
+            }
+        }
+    }
+
+    // Guarded by its own monitor
+    private final class Buckets {
+
+        private double tokens;
+        private double special;
+        private long last;
+        private long dropped;
+
+        private Buckets(double tokens, double special, long now) {
+            this.tokens = tokens;
+            this.special = special;
+            this.last = now;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - last;
+            last = now;
+            tokens = Math.min(burst, tokens + elapsed * rate);
+            special = Math.min(specialBurst, special + elapsed * specialRate);
+        }
+
+    }
+
+}
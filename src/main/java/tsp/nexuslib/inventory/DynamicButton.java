@@ -0,0 +1,83 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A button whose item is recomputed periodically, e.g. countdowns, rotating items or live stats.
+ * Open panes showing it are updated by the {@link PaneTicker}, no task per pane is required.
+ */
+public class DynamicButton extends Button {
+
+    private final Supplier<ItemStack> supplier;
+    private final long interval;
+    private ItemStack current;
+    private long nextUpdate;
+    private long lastChange = -1;
+
+    /**
+     * @param supplier Supplies the current item. Called on the main thread.
+     * @param intervalTicks Ticks between updates
+     * @param action The action
+     */
+    public DynamicButton(@Nonnull Supplier<ItemStack> supplier, long intervalTicks, @Nonnull Consumer<InventoryClickEvent> action) {
+        super(null, action);
+        Validate.notNull(supplier, "Supplier must not be null!");
+        Validate.isTrue(intervalTicks > 0, "Interval must be > 0, got " + intervalTicks);
+
+        this.supplier = supplier;
+        this.interval = intervalTicks;
+    }
+
+    /**
+     * @param supplier Supplies the current item. Called on the main thread.
+     * @param intervalTicks Ticks between updates
+     */
+    public DynamicButton(@Nonnull Supplier<ItemStack> supplier, long intervalTicks) {
+        this(supplier, intervalTicks, event -> {
+        });
+    }
+
+    /**
+     * @return The item as of the last update
+     */
+    @Override
+    public ItemStack getItemStack() {
+        if (current == null) {
+            current = supplier.get();
+        }
+
+        return current;
+    }
+
+    /**
+     * Recomputes the item if it is due
+     *
+     * @param tick The current tick of the {@link PaneTicker}
+     * @return True if the item changed in this tick
+     */
+    public boolean update(long tick) {
+        if (tick >= nextUpdate) {
+            nextUpdate = tick + interval;
+            ItemStack next = supplier.get();
+            if (!Objects.equals(next, current)) {
+                current = next;
+                lastChange = tick;
+            }
+        }
+
+        // Also true for every other pane showing this button in the same tick
+        return lastChange == tick;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+}
@@ -0,0 +1,318 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import tsp.nexuslib.task.TaskBackends;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * A paged pane backed by a {@link PageSource}.
+ * Only the buttons of the visible page, and optionally its neighbours, are created.
+ * Pages outside of that window are evicted.
+ * <p>
+ * If an {@link Executor} is provided, the source is queried on it instead of the main thread.
+ * Pages that are not loaded yet show placeholder items until their buttons are committed on the main thread,
+ * results for pages the viewer already flipped away from are dropped.
+ */
+public class LazyPagedPane extends AbstractPagedPane {
+
+    private final PageSource source;
+    private final SortedMap<Integer, Page> loaded = new TreeMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+    private final Executor executor;
+    private Button placeholder;
+    private int prefetch = 1;
+    private int count;
+    // Incremented on refresh, results of older requests are dropped
+    private int generation;
+
+    /**
+     * @param pageSize The page size
+     * @param rows The rows
+     * @param title The title
+     * @param source The source of the buttons
+     */
+    public LazyPagedPane(int pageSize, int rows, @Nonnull String title, @Nonnull PageSource source) {
+        super(pageSize, rows, title);
+        Validate.notNull(source, "Source must not be null!");
+
+        this.source = source;
+        this.executor = null;
+        this.count = source.count();
+    }
+
+    /**
+     * Creates a pane that queries its source asynchronously. The count is loaded in the background as well.
+     *
+     * @param pageSize The page size
+     * @param rows The rows
+     * @param title The title
+     * @param source The source of the buttons
+     * @param executor The executor to query the source on
+     * @param placeholder The item shown in slots that are still loading. May be null.
+     */
+    public LazyPagedPane(int pageSize, int rows, @Nonnull String title, @Nonnull PageSource source, @Nonnull Executor executor, @Nullable ItemStack placeholder) {
+        super(pageSize, rows, title);
+        Validate.notNull(source, "Source must not be null!");
+        Validate.notNull(executor, "Executor must not be null!");
+
+        this.source = source;
+        this.executor = executor;
+        setPlaceholder(placeholder);
+        refresh();
+    }
+
+    /**
+     * Reloads the count and drops all loaded pages, e.g. after the underlying data changed
+     */
+    public void refresh() {
+        int requested = ++generation;
+        loaded.clear();
+        loading.clear();
+
+        if (executor == null) {
+            applyCount(source.count());
+            return;
+        }
+
+        supplyAsync(source::count, result -> {
+            if (requested == generation) {
+                applyCount(result);
+            }
+        });
+    }
+
+    private void applyCount(int count) {
+        this.count = count;
+        if (getCurrentPage() > getPageAmount()) {
+            selectPage(getPageAmount() - 1);
+        } else {
+            requestRender();
+        }
+    }
+
+    /**
+     * @param prefetch Amount of pages before and after the visible page to keep loaded
+     */
+    public void setPrefetch(int prefetch) {
+        Validate.isTrue(prefetch >= 0, "Prefetch must be >= 0, got " + prefetch);
+
+        this.prefetch = prefetch;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    @Override
+    public int getPageAmount() {
+        int perPage = getPageSize() * 9;
+        return Math.max(1, (count + perPage - 1) / perPage);
+    }
+
+    @Nonnull
+    @Override
+    protected Page getVisiblePage() {
+        int index = getCurrentIndex();
+        Page page = load(index);
+
+        int from = Math.max(0, index - prefetch);
+        int to = Math.min(getPageAmount() - 1, index + prefetch);
+        for (Iterator<Map.Entry<Integer, Page>> iterator = loaded.entrySet().iterator(); iterator.hasNext(); ) {
+            int key = iterator.next().getKey();
+            if (key < from || key > to) {
+                iterator.remove();
+            }
+        }
+        for (int i = from; i <= to; i++) {
+            load(i);
+        }
+
+        return page;
+    }
+
+    /**
+     * Retrieve a page, creating its buttons if it is not loaded
+     *
+     * @param index The page index
+     * @return The page
+     */
+    @Nonnull
+    protected Page load(int index) {
+        Page page = loaded.get(index);
+        if (page != null) {
+            return page;
+        }
+
+        if (executor == null) {
+            page = createPage(index, fetch(index));
+            loaded.put(index, page);
+            return page;
+        }
+
+        if (loading.add(index)) {
+            int requested = generation;
+            supplyAsync(() -> fetch(index), buttons -> {
+                loading.remove(index);
+                // Drop results of an older generation or of a page the viewer flipped away from
+                int current = getCurrentIndex();
+                if (requested != generation || Math.abs(index - current) > prefetch) {
+                    return;
+                }
+
+                loaded.put(index, createPage(index, buttons));
+                if (index == current) {
+                    reRender();
+                }
+            });
+        }
+
+        return createPlaceholderPage(index);
+    }
+
+    /**
+     * @param index The page index
+     * @return A page filled with placeholders for every button the page will have
+     */
+    @Nonnull
+    protected Page createPlaceholderPage(int index) {
+        Page page = new Page(getPageSize());
+        if (placeholder != null) {
+            int perPage = getPageSize() * 9;
+            int amount = Math.min(perPage, count - index * perPage);
+            for (int i = 0; i < amount; i++) {
+                page.addButton(placeholder);
+            }
+        }
+
+        return page;
+    }
+
+    /**
+     * Runs a query on the executor and hands the result to the main thread
+     */
+    private <T> void supplyAsync(Supplier<T> query, Consumer<T> commit) {
+        JavaPlugin plugin = PaneRegistry.getPlugin();
+        CompletableFuture.supplyAsync(query, executor).whenComplete((result, ex) -> {
+            if (!plugin.isEnabled()) {
+                return;
+            }
+
+            TaskBackends.get().run(plugin, () -> {
+                if (ex != null) {
+                    plugin.getLogger().log(Level.SEVERE, "Failed to load page data for " + getClass().getSimpleName(), ex);
+                    loading.clear();
+                    return;
+                }
+                commit.accept(result);
+            }, -1, -1);
+        });
+    }
+
+    /**
+     * Drops all loaded pages, they are loaded again once the pane is opened
+     */
+    @Override
+    protected void release() {
+        super.release();
+        // Results that are still loading are dropped as well
+        generation++;
+        loaded.clear();
+        loading.clear();
+    }
+
+    /**
+     * @param placeholder The item shown in slots that are still loading. May be null.
+     */
+    public void setPlaceholder(@Nullable ItemStack placeholder) {
+        this.placeholder = placeholder != null ? new Button(placeholder) : null;
+    }
+
+    /**
+     * @return True if pages are loaded asynchronously
+     */
+    public boolean isAsync() {
+        return executor != null;
+    }
+
+    /**
+     * @param index The page index
+     * @return The buttons of the page
+     */
+    @Nonnull
+    protected List<Button> fetch(int index) {
+        int perPage = getPageSize() * 9;
+        return source.fetch(index * perPage, perPage);
+    }
+
+    /**
+     * @param index The page index
+     * @param buttons The buttons of the page
+     * @return The page
+     */
+    @Nonnull
+    protected Page createPage(int index, @Nonnull List<Button> buttons) {
+        Page page = new Page(getPageSize());
+        for (Button button : buttons) {
+            if (!page.addButton(button)) {
+                break;
+            }
+        }
+
+        return page;
+    }
+
+    /**
+     * @param index The page index
+     * @return True if the page is loaded
+     */
+    public boolean isLoaded(int index) {
+        return loaded.containsKey(index);
+    }
+
+    /**
+     * @return The loaded pages
+     */
+    @Override
+    public SortedMap<Integer, Page> getPages() {
+        return Collections.unmodifiableSortedMap(loaded);
+    }
+
+    /**
+     * @param index The page index
+     * @return The page, loading it if required
+     */
+    @Override
+    public Page getPage(int index) {
+        return load(index);
+    }
+
+    @Nonnull
+    public PageSource getSource() {
+        return source;
+    }
+
+    /**
+     * @return The total amount of buttons as of the last refresh
+     */
+    public int getCount() {
+        return count;
+    }
+
+}
@@ -3,19 +3,36 @@ package tsp.nexuslib.inventory;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
 import tsp.nexuslib.util.Validate;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
 
 public class Page {
 
-    private final Map<Integer, Button> buttons = new HashMap<>();
+    private final Button[] buttons;
+    private final BitSet occupied;
+    // Slots holding a DynamicButton
+    private final BitSet dynamic;
+    // Slot of every button, so removal does not need to scan the slots
+    private final Map<Button, Integer> index = new HashMap<>();
     private final int maxSize;
+    private int count;
+    // Amount of placements of a button that is already placed in another slot
+    private int shared;
 
+    /**
+     * @param maxSize The amount of rows
+     */
     public Page(int maxSize) {
         this.maxSize = maxSize;
+        this.buttons = new Button[maxSize * 9];
+        this.occupied = new BitSet(buttons.length);
+        this.dynamic = new BitSet(buttons.length);
     }
 
     /**
@@ -25,17 +42,15 @@ public class Page {
         Validate.notNull(event, "InventoryClickEvent must not be null!");
 
         // user clicked in his own tsp.smartaddon.inventory. Silently drop it
-        if (event.getRawSlot() > event.getInventory().getSize()) {
+        if (event.getRawSlot() >= event.getInventory().getSize()) {
             return;
         }
         // user clicked outside of the tsp.smartaddon.inventory
         if (event.getSlotType() == InventoryType.SlotType.OUTSIDE) {
             return;
         }
-        if (event.getSlot() >= buttons.size()) {
-            return;
-        }
-        Button button = buttons.get(event.getSlot());
+
+        Button button = getButton(event.getSlot());
         if (button != null) {
             button.onClick(event);
         }
@@ -45,7 +60,7 @@ public class Page {
      * @return True if there is space left
      */
     public boolean hasSpace() {
-        return buttons.size() < maxSize * 9;
+        return count < buttons.length;
     }
 
     /**
@@ -59,19 +74,25 @@ public class Page {
         if (!hasSpace()) {
             return false;
         }
-        buttons.put(buttons.size(), button);
+
+        place(occupied.nextClearBit(0), button);
         return true;
     }
 
     /**
      * @param i Slot
      * @param button The {@link Button} to add
-     * @return True if the button was added
+     * @return True if the button was added, false if the slot is outside of this page
      */
     public boolean setButton(int i, @Nonnull Button button) {
         Validate.notNull(button, "Button must not be null!");
 
-        buttons.put(i, button);
+        if (i < 0 || i >= buttons.length) {
+            return false;
+        }
+
+        clear(i);
+        place(i, button);
         return true;
     }
 
@@ -83,15 +104,26 @@ public class Page {
     public boolean removeButton(@Nonnull Button button) {
         Validate.notNull(button, "Button must not be null!");
 
-        Map.Entry<Integer, Button> match = null;
-        for (Map.Entry<Integer, Button> entry : buttons.entrySet()) {
-            if (entry.getValue().equals(button)) {
-                match = entry;
-                break;
-            }
+        Integer slot = index.get(button);
+        if (slot == null) {
+            return false;
+        }
+
+        clear(slot);
+        return true;
+    }
+
+    /**
+     * @param slot The slot
+     * @return The button in the slot, or null if the slot is empty or outside of this page
+     */
+    @Nullable
+    public Button getButton(int slot) {
+        if (slot < 0 || slot >= buttons.length) {
+            return null;
         }
 
-        return match != null && buttons.remove(match.getKey(), match.getValue());
+        return buttons[slot];
     }
 
     /**
@@ -100,15 +132,111 @@ public class Page {
     public void render(@Nonnull Inventory inventory) {
         Validate.notNull(inventory, "Inventory must not be null!");
 
-        for (Map.Entry<Integer, Button> button : buttons.entrySet()) {
-            inventory.setItem(button.getKey(), button.getValue().getItemStack());
+        for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+            inventory.setItem(i, buttons[i].getItemStack());
+        }
+    }
+
+    /**
+     * @param contents The contents to render in, indexed by slot
+     */
+    public void render(@Nonnull ItemStack[] contents) {
+        Validate.notNull(contents, "Contents must not be null!");
+
+        for (int i = occupied.nextSetBit(0); i >= 0 && i < contents.length; i = occupied.nextSetBit(i + 1)) {
+            contents[i] = buttons[i].getItemStack();
+        }
+    }
+
+    // Slots holding a button, must not be modified
+    BitSet getOccupied() {
+        return occupied;
+    }
+
+    /**
+     * Updates the dynamic buttons of this page that are due
+     *
+     * @param tick The current tick of the {@link PaneTicker}
+     * @return True if the item of any of them changed
+     */
+    public boolean updateDynamic(long tick) {
+        boolean changed = false;
+        for (int i = dynamic.nextSetBit(0); i >= 0; i = dynamic.nextSetBit(i + 1)) {
+            if (((DynamicButton) buttons[i]).update(tick)) {
+                changed = true;
+            }
         }
+
+        return changed;
+    }
+
+    /**
+     * @return True if this page holds any {@link DynamicButton}
+     */
+    public boolean hasDynamicButtons() {
+        return !dynamic.isEmpty();
     }
 
     /**
      * @return True if this page is empty
      */
     public boolean isEmpty() {
-        return buttons.isEmpty();
+        return count == 0;
+    }
+
+    /**
+     * @return Amount of buttons on this page
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return Amount of slots on this page
+     */
+    public int getCapacity() {
+        return buttons.length;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private void place(int slot, Button button) {
+        buttons[slot] = button;
+        occupied.set(slot);
+        if (button instanceof DynamicButton) {
+            dynamic.set(slot);
+        }
+        if (index.putIfAbsent(button, slot) != null) {
+            shared++;
+        }
+        count++;
     }
-}
\ No newline at end of file
+
+    private void clear(int slot) {
+        Button previous = buttons[slot];
+        if (previous == null) {
+            return;
+        }
+
+        buttons[slot] = null;
+        occupied.clear(slot);
+        dynamic.clear(slot);
+        count--;
+        if (!index.remove(previous, slot)) {
+            // Removed one of the other placements
+            shared--;
+        } else if (shared > 0) {
+            // Only scan if the same button was placed in more than one slot
+            for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+                if (buttons[i] == previous) {
+                    index.put(previous, i);
+                    shared--;
+                    break;
+                }
+            }
+        }
+    }
+
+}
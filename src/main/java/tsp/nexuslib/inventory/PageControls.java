@@ -0,0 +1,329 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Layout and items of the navigation controls of a {@link Paginated} pane.
+ * The named items are built once per (page, page amount) and cached, so flipping pages does no formatting or meta work.
+ * Cached items are shared, they must not be modified.
+ */
+public class PageControls {
+
+    private final int size;
+
+    private ItemStack borderItem = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
+    private ItemStack backItem = new ItemStack(Material.ARROW);
+    private ItemStack nextItem = new ItemStack(Material.ARROW);
+    private ItemStack currentItem = new ItemStack(Material.BOOK);
+
+    private String nameFormat = "&3&lPage &a&l%d &7/ &c&l%d";
+    private String backLoreFormat = "&7Brings you back to the page &c%d";
+    private String nextLoreFormat = "&7Brings you to the page &c%d";
+    private String currentLoreFormat = "&7You are on page &a%d &7/ &c%d";
+
+    private ItemStack[] decoration;
+
+    private int borderRow;
+    private int backSlot;
+    private int currentSlot;
+    private int nextSlot;
+
+    // Keyed by page, only holds items for the page amount they were built for
+    private final Map<Integer, ItemStack> backCache = new HashMap<>();
+    private final Map<Integer, ItemStack> nextCache = new HashMap<>();
+    private final Map<Integer, ItemStack> currentCache = new HashMap<>();
+    private int cachedAmount = -1;
+
+    /**
+     * Creates the default layout: a border in the second to last row and the controls in the last row.
+     * A single row has no border, only the controls.
+     *
+     * @param size The size of the inventory
+     */
+    public PageControls(int size) {
+        Validate.isTrue(size >= 9 && size % 9 == 0, "Size must be a multiple of 9 and >= 9, got " + size);
+
+        this.size = size;
+        this.borderRow = size >= 18 ? size / 9 - 2 : -1;
+        this.backSlot = size - 8;
+        this.currentSlot = size - 5;
+        this.nextSlot = size - 2;
+    }
+
+    /**
+     * Renders the border and the controls for a page
+     *
+     * @param contents The contents to render in
+     * @param page The current page (1 based)
+     * @param amount The amount of pages
+     */
+    public void render(@Nonnull ItemStack[] contents, int page, int amount) {
+        render(contents, page, amount, 0);
+    }
+
+    /**
+     * Renders the border and the controls for a page, leaving the slots of the page itself untouched.
+     * Controls that would cover a slot of the page are not shown.
+     *
+     * @param contents The contents to render in
+     * @param page The current page (1 based)
+     * @param amount The amount of pages
+     * @param pageSlots The amount of slots used by a page, starting at slot 0
+     */
+    public void render(@Nonnull ItemStack[] contents, int page, int amount, int pageSlots) {
+        Validate.notNull(contents, "Contents must not be null!");
+
+        if (borderRow >= 0) {
+            int from = Math.max(borderRow * 9, pageSlots);
+            for (int i = from; i < borderRow * 9 + 9 && i < contents.length; i++) {
+                contents[i] = borderItem;
+            }
+        }
+        if (decoration != null) {
+            for (int i = pageSlots; i < decoration.length && i < contents.length; i++) {
+                if (decoration[i] != null) {
+                    contents[i] = decoration[i];
+                }
+            }
+        }
+        if (page > 1 && backSlot >= pageSlots) {
+            contents[backSlot] = getBack(page, amount);
+        }
+        if (page < amount && nextSlot >= pageSlots) {
+            contents[nextSlot] = getNext(page, amount);
+        }
+        if (currentSlot >= pageSlots) {
+            contents[currentSlot] = getCurrent(page, amount);
+        }
+    }
+
+    /**
+     * @param page The current page (1 based)
+     * @param amount The amount of pages
+     * @return The cached back item
+     */
+    @Nonnull
+    public ItemStack getBack(int page, int amount) {
+        return cache(backCache, page, amount, () -> build(backItem, String.format(Locale.ROOT, nameFormat, page - 1, amount), String.format(Locale.ROOT, backLoreFormat, page - 1)));
+    }
+
+    /**
+     * @param page The current page (1 based)
+     * @param amount The amount of pages
+     * @return The cached next item
+     */
+    @Nonnull
+    public ItemStack getNext(int page, int amount) {
+        return cache(nextCache, page, amount, () -> build(nextItem, String.format(Locale.ROOT, nameFormat, page + 1, amount), String.format(Locale.ROOT, nextLoreFormat, page + 1)));
+    }
+
+    /**
+     * @param page The current page (1 based)
+     * @param amount The amount of pages
+     * @return The cached current page item
+     */
+    @Nonnull
+    public ItemStack getCurrent(int page, int amount) {
+        return cache(currentCache, page, amount, () -> build(currentItem, String.format(Locale.ROOT, nameFormat, page, amount), String.format(Locale.ROOT, currentLoreFormat, page, amount)));
+    }
+
+    private ItemStack cache(Map<Integer, ItemStack> cache, int page, int amount, Supplier<ItemStack> builder) {
+        if (amount != cachedAmount) {
+            // Items of every page mention the amount, none of them can be reused
+            invalidate();
+            cachedAmount = amount;
+        }
+
+        ItemStack item = cache.get(page);
+        if (item == null) {
+            item = builder.get();
+            cache.put(page, item);
+        }
+
+        return item;
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    private ItemStack build(ItemStack template, String name, String lore) {
+        // Never modify the template item itself
+        ItemStack item = template.clone();
+        ItemMeta itemMeta = item.getItemMeta();
+        itemMeta.setDisplayName(color(name));
+        itemMeta.setLore(Collections.singletonList(color(lore)));
+        item.setItemMeta(itemMeta);
+
+        return item;
+    }
+
+    private String color(String input) {
+        return ChatColor.translateAlternateColorCodes('&', input);
+    }
+
+    /**
+     * Drops all cached items
+     */
+    public void invalidate() {
+        backCache.clear();
+        nextCache.clear();
+        currentCache.clear();
+        cachedAmount = -1;
+    }
+
+    /**
+     * @param slot The slot
+     * @return True if the slot is used by the border or a control
+     */
+    public boolean isControlSlot(int slot) {
+        return slot == backSlot || slot == currentSlot || slot == nextSlot || (borderRow >= 0 && slot / 9 == borderRow);
+    }
+
+    private int checkSlot(int slot) {
+        Validate.isTrue(slot >= -1 && slot < size, "Slot must be in [-1 " + size + "), got " + slot);
+        return slot;
+    }
+
+    /**
+     * @param borderRow The row of the border, -1 for none
+     */
+    public void setBorderRow(int borderRow) {
+        Validate.isTrue(borderRow >= -1 && borderRow < size / 9, "Border row must be in [-1 " + size / 9 + "), got " + borderRow);
+
+        this.borderRow = borderRow;
+    }
+
+    /**
+     * @param backSlot The slot of the back control, -1 for none
+     */
+    public void setBackSlot(int backSlot) {
+        this.backSlot = checkSlot(backSlot);
+    }
+
+    /**
+     * @param currentSlot The slot of the current page control, -1 for none
+     */
+    public void setCurrentSlot(int currentSlot) {
+        this.currentSlot = checkSlot(currentSlot);
+    }
+
+    /**
+     * @param nextSlot The slot of the next control, -1 for none
+     */
+    public void setNextSlot(int nextSlot) {
+        this.nextSlot = checkSlot(nextSlot);
+    }
+
+    /**
+     * @param decoration Static items rendered below the controls, indexed by slot. May be null.
+     */
+    public void setDecoration(@Nullable ItemStack[] decoration) {
+        if (decoration != null && decoration.length != size) {
+            throw new IllegalArgumentException("Decoration size must be " + size + ", got " + decoration.length);
+        }
+
+        this.decoration = decoration != null ? decoration.clone() : null;
+    }
+
+    public void setBorderItem(@Nonnull ItemStack item) {
+        Validate.notNull(item, "Item must not be null!");
+
+        this.borderItem = item.clone();
+    }
+
+    public void setBackItem(@Nonnull ItemStack item) {
+        Validate.notNull(item, "Item must not be null!");
+
+        this.backItem = item.clone();
+        invalidate();
+    }
+
+    public void setNextItem(@Nonnull ItemStack item) {
+        Validate.notNull(item, "Item must not be null!");
+
+        this.nextItem = item.clone();
+        invalidate();
+    }
+
+    public void setCurrentItem(@Nonnull ItemStack item) {
+        Validate.notNull(item, "Item must not be null!");
+
+        this.currentItem = item.clone();
+        invalidate();
+    }
+
+    /**
+     * @param nameFormat Format of the control names, receives the page and the page amount
+     */
+    public void setNameFormat(@Nonnull String nameFormat) {
+        Validate.notNull(nameFormat, "Format must not be null!");
+
+        this.nameFormat = nameFormat;
+        invalidate();
+    }
+
+    /**
+     * @param backLoreFormat Format of the back lore, receives the previous page
+     * @param nextLoreFormat Format of the next lore, receives the next page
+     * @param currentLoreFormat Format of the current page lore, receives the page and the page amount
+     */
+    public void setLoreFormats(@Nullable String backLoreFormat, @Nullable String nextLoreFormat, @Nullable String currentLoreFormat) {
+        if (backLoreFormat != null) {
+            this.backLoreFormat = backLoreFormat;
+        }
+        if (nextLoreFormat != null) {
+            this.nextLoreFormat = nextLoreFormat;
+        }
+        if (currentLoreFormat != null) {
+            this.currentLoreFormat = currentLoreFormat;
+        }
+        invalidate();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getBorderRow() {
+        return borderRow;
+    }
+
+    public int getBackSlot() {
+        return backSlot;
+    }
+
+    public int getCurrentSlot() {
+        return currentSlot;
+    }
+
+    public int getNextSlot() {
+        return nextSlot;
+    }
+
+    public ItemStack getBorderItem() {
+        return borderItem;
+    }
+
+    public ItemStack getBackItem() {
+        return backItem;
+    }
+
+    public ItemStack getNextItem() {
+        return nextItem;
+    }
+
+    public ItemStack getCurrentItem() {
+        return currentItem;
+    }
+
+}
@@ -0,0 +1,141 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.ChatColor;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Navigation state of a paged pane: the current page, the controls and the page title.
+ * Shared by {@link PagedPane} and {@link AbstractPagedPane}, which can not share a superclass.
+ * <p>
+ * The controls are only shown in the slots after the page. A single row pane with a page of one row has no room for them.
+ */
+final class PageNavigation<P extends AbstractPane & Paginated> {
+
+    private final P pane;
+    private final int pageSize;
+    private int currentIndex;
+    private PageControls controls;
+    private String titleFormat;
+
+    // Created once, the items shown for them come from the controls
+    private final Button controlBack = new Button(null, event -> selectPage(currentIndex - 1));
+    private final Button controlNext = new Button(null, event -> selectPage(currentIndex + 1));
+    private Button controlCurrent;
+
+    PageNavigation(P pane, int pageSize) {
+        if (pageSize < 1 || pageSize > 6) {
+            throw new IllegalArgumentException("Page size must be in [1 6], got " + pageSize);
+        }
+
+        this.pane = pane;
+        this.pageSize = pageSize;
+        this.controls = new PageControls(pane.getInventory().getSize());
+    }
+
+    int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    void setCurrentIndex(int index) {
+        this.currentIndex = index;
+    }
+
+    void selectPage(int index) {
+        if (index < 0 || index >= pane.getPageAmount()) {
+            throw new IllegalArgumentException(
+                    "Index out of bounds s: " + index + " [" + 0 + " " + pane.getPageAmount() + ")"
+            );
+        }
+        if (index == currentIndex) {
+            return;
+        }
+
+        currentIndex = index;
+        pane.requestRender();
+    }
+
+    void render() {
+        ItemStack[] contents = new ItemStack[pane.getInventory().getSize()];
+        pane.getVisiblePage().render(contents);
+        controls.render(contents, currentIndex + 1, pane.getPageAmount(), pageSize * 9);
+        pane.push(contents);
+
+        if (titleFormat != null) {
+            // Only resent if the page or page amount changed
+            pane.setTitle(formatTitle());
+        }
+    }
+
+    private String formatTitle() {
+        return color(titleFormat
+                .replace("{page}", String.valueOf(currentIndex + 1))
+                .replace("{pages}", String.valueOf(pane.getPageAmount())));
+    }
+
+    void setTitleFormat(@Nullable String titleFormat) {
+        this.titleFormat = titleFormat;
+        if (titleFormat != null) {
+            pane.setTitle(formatTitle());
+        }
+    }
+
+    @Nullable
+    String getTitleFormat() {
+        return titleFormat;
+    }
+
+    void onClick(InventoryClickEvent event) {
+        event.setCancelled(true);
+
+        int slot = event.getRawSlot();
+        // Controls are not shown over the slots of the page
+        if (slot < pageSize * 9) {
+            pane.getVisiblePage().handleClick(event);
+        } else if (slot == controls.getBackSlot()) {
+            if (currentIndex > 0) {
+                controlBack.onClick(event);
+            }
+        } else if (slot == controls.getNextSlot()) {
+            if (currentIndex + 1 < pane.getPageAmount()) {
+                controlNext.onClick(event);
+            }
+        } else if (slot == controls.getCurrentSlot()) {
+            if (controlCurrent != null) {
+                controlCurrent.onClick(event);
+            }
+        } else {
+            pane.getVisiblePage().handleClick(event);
+        }
+    }
+
+    int getPageSize() {
+        return pageSize;
+    }
+
+    @Nonnull
+    PageControls getControls() {
+        return controls;
+    }
+
+    void setControls(@Nonnull PageControls controls) {
+        Validate.notNull(controls, "Controls must not be null!");
+        Validate.isTrue(controls.getSize() == pane.getInventory().getSize(), "Controls size must be " + pane.getInventory().getSize() + ", got " + controls.getSize());
+
+        this.controls = controls;
+        pane.requestRender();
+    }
+
+    void setControlCurrent(Button controlCurrent) {
+        this.controlCurrent = controlCurrent;
+    }
+
+    static String color(String input) {
+        return ChatColor.translateAlternateColorCodes('&', input);
+    }
+
+}
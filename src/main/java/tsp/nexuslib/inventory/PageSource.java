@@ -0,0 +1,26 @@
+package tsp.nexuslib.inventory;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Source of the buttons of a {@link LazyPagedPane}
+ */
+public interface PageSource {
+
+    /**
+     * @return The total amount of buttons
+     */
+    int count();
+
+    /**
+     * Creates the buttons of a range
+     *
+     * @param offset Index of the first button
+     * @param limit Maximum amount of buttons to create
+     * @return The buttons, at most limit
+     */
+    @Nonnull
+    List<Button> fetch(int offset, int limit);
+
+}
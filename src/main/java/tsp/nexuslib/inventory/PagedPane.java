@@ -1,137 +1,216 @@
 package tsp.nexuslib.inventory;
 
-import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
-import org.bukkit.Material;
-import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import tsp.nexuslib.util.Validate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.stream.Collectors;
 
 /**
- * A paged pane.
+ * A paged pane holding all of its buttons.
+ * The buttons of {@link Pane} are replaced by the pages, {@link #getPage()} returns the page that is shown.
+ * <p>
+ * The controls are only shown in the slots after the page. A single row pane with a page of one row has no room for them,
+ * its pages can only be changed with {@link #selectPage(int)}.
  *
  * @author I Al Ianstaan
  * @author TheSilentPro
  */
-public class PagedPane extends Pane {
-
-    private final Inventory inventory;
+public class PagedPane extends Pane implements Paginated {
 
+    private final PageNavigation<PagedPane> navigation;
     private final SortedMap<Integer, Page> pages = new TreeMap<>();
-    private int currentIndex;
-    private final int pageSize;
-    private ItemStack borderItem;
-    private ItemStack backItem;
-    private ItemStack nextItem;
-    private ItemStack currentItem;
-
-    private Button controlBack;
-    private Button controlNext;
-    private Button controlCurrent;
+    // Lowest page that may have space left
+    private int spaceIndex;
 
     /**
      * @param pageSize The page size
      */
     public PagedPane(int pageSize, int rows, @Nonnull String title) {
-        super(rows, title);
-        if (rows > 6) {
-            throw new IllegalArgumentException("Rows must be <= 6, got " + rows);
-        }
-        if (pageSize > 6) {
-            throw new IllegalArgumentException("Page size must be <= 6, got" + pageSize);
-        }
-
-        this.borderItem = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
-        this.backItem = new ItemStack(Material.ARROW);
-        this.nextItem = new ItemStack(Material.ARROW);
-        this.currentItem = new ItemStack(Material.BOOK);
-
-        this.pageSize = pageSize;
-        inventory = Bukkit.createInventory(this, rows * 9, color(title));
+        super(rows, PageNavigation.color(title));
 
+        this.navigation = new PageNavigation<>(this, pageSize);
         pages.put(0, new Page(pageSize));
     }
 
     /**
      * @param button The button to add
      */
+    @Override
     public void addButton(@Nonnull Button button) {
         Validate.notNull(button, "Button must not be null!");
 
-        for (Map.Entry<Integer, Page> entry : pages.entrySet()) {
-            if (entry.getValue().addButton(button)) {
-                if (entry.getKey() == currentIndex) {
-                    reRender();
-                }
-                return;
-            }
+        if (append(button)) {
+            requestRender();
         }
-        Page page = new Page(pageSize);
-        page.addButton(button);
-        pages.put(pages.lastKey() + 1, page);
+    }
 
-        reRender();
+    /**
+     * Adds all buttons in a single pass and renders at most once
+     *
+     * @param buttons The buttons to add
+     */
+    public void addButtons(@Nonnull Collection<? extends Button> buttons) {
+        Validate.notNull(buttons, "Buttons must not be null!");
+
+        boolean render = false;
+        for (Button button : buttons) {
+            Validate.notNull(button, "Button must not be null!");
+            render |= append(button);
+        }
+        if (render) {
+            requestRender();
+        }
+    }
+
+    /**
+     * Replaces all buttons. The current page is kept if it still exists.
+     *
+     * @param buttons The new buttons
+     */
+    public void setButtons(@Nonnull Collection<? extends Button> buttons) {
+        Validate.notNull(buttons, "Buttons must not be null!");
+
+        pages.clear();
+        pages.put(0, new Page(getPageSize()));
+        spaceIndex = 0;
+        for (Button button : buttons) {
+            Validate.notNull(button, "Button must not be null!");
+            append(button);
+        }
+
+        setCurrentIndex(Math.min(getCurrentIndex(), pages.size() - 1));
+        requestRender();
+    }
+
+    /**
+     * Replaces the buttons from a page on, keeping the pages before it.
+     * The pages before it must be full, e.g. after {@link #setButtons(Collection)}.
+     *
+     * @param fromPage The first page to replace
+     * @param buttons The new buttons of that page and the pages after it
+     */
+    public void setButtons(int fromPage, @Nonnull Collection<? extends Button> buttons) {
+        Validate.notNull(buttons, "Buttons must not be null!");
+        if (fromPage < 0 || fromPage > pages.size()) {
+            throw new IllegalArgumentException("Page must be in [0 " + pages.size() + "], got " + fromPage);
+        }
+
+        int amount = pages.size();
+        pages.tailMap(fromPage).clear();
+        if (pages.isEmpty()) {
+            pages.put(0, new Page(getPageSize()));
+        }
+        spaceIndex = pages.lastKey();
+        for (Button button : buttons) {
+            Validate.notNull(button, "Button must not be null!");
+            append(button);
+        }
+
+        setCurrentIndex(Math.min(getCurrentIndex(), pages.size() - 1));
+        // The pages before are unchanged, unless the page amount shown by the controls changed
+        if (getCurrentIndex() >= fromPage || pages.size() != amount) {
+            requestRender();
+        }
     }
 
+    /**
+     * Adds a button to the first page with space
+     *
+     * @return True if the visible page or the page amount changed
+     */
+    private boolean append(Button button) {
+        // Every page before the space index is full
+        Page page = pages.get(spaceIndex);
+        while (page != null && !page.hasSpace()) {
+            page = pages.get(++spaceIndex);
+        }
+
+        if (page == null) {
+            page = new Page(getPageSize());
+            pages.put(spaceIndex, page);
+            page.addButton(button);
+            return true;
+        }
+
+        page.addButton(button);
+        return spaceIndex == getCurrentIndex();
+    }
+
+    /**
+     * Sets the button of a slot on the first page that has no button there
+     *
+     * @param i The slot
+     * @param button The button
+     */
+    @Override
     public void setButton(int i, @Nonnull Button button) {
         Validate.notNull(button, "Button must not be null!");
 
+        if (i < 0 || i >= getPageSize() * 9) {
+            throw new IllegalArgumentException("Slot must be in [0 " + getPageSize() * 9 + "), got " + i);
+        }
+
         for (Map.Entry<Integer, Page> entry : pages.entrySet()) {
             if (entry.getValue().setButton(i, button)) {
-                if (entry.getKey() == currentIndex) {
-                    reRender();
+                if (entry.getKey() == getCurrentIndex()) {
+                    requestRender();
                 }
                 return;
             }
         }
-        Page page = new Page(pageSize);
-        page.setButton(i, button);
-        pages.put(pages.lastKey() + 1, page);
-
-        reRender();
     }
 
     /**
+     * Removes a button. The buttons after it move back one slot, so the pages stay compact.
+     *
      * @param button The Button to remove
      */
     @SuppressWarnings("unused")
+    @Override
     public void removeButton(@Nonnull Button button) {
         Validate.notNull(button, "Button must not be null!");
 
-        for (Iterator<Map.Entry<Integer, Page>> iterator = pages.entrySet().iterator(); iterator.hasNext(); ) {
-            Map.Entry<Integer, Page> entry = iterator.next();
-            if (entry.getValue().removeButton(button)) {
-
-                // we may need to delete the page
-                if (entry.getValue().isEmpty()) {
-                    // we have more than one page, so delete it
-                    if (pages.size() > 1) {
-                        iterator.remove();
-                    }
-                    // the currentIndex now points to a page that does not exist. Correct it.
-                    if (currentIndex >= pages.size()) {
-                        currentIndex--;
-                    }
-                }
-                // if we modified the current one, re-render
-                // if we deleted the current page, re-render too
-                if (entry.getKey() >= currentIndex) {
-                    reRender();
-                }
-                return;
+        for (Map.Entry<Integer, Page> entry : pages.entrySet()) {
+            if (!entry.getValue().removeButton(button)) {
+                continue;
+            }
+
+            // Only the pages from the one holding the button are re-paginated, an emptied last page is dropped
+            int index = entry.getKey();
+            List<Button> following = new ArrayList<>();
+            for (Page page : pages.tailMap(index).values()) {
+                collect(page, following);
+            }
+            setButtons(index, following);
+            return;
+        }
+    }
+
+    /**
+     * Moves all buttons forward, closing the gaps left by buttons set in arbitrary slots, in a single pass
+     */
+    public void compact() {
+        List<Button> buttons = new ArrayList<>();
+        for (Page page : pages.values()) {
+            collect(page, buttons);
+        }
+
+        setButtons(buttons);
+    }
+
+    private static void collect(Page page, List<Button> target) {
+        for (int i = 0; i < page.getCapacity(); i++) {
+            Button button = page.getButton(i);
+            if (button != null) {
+                target.add(button);
             }
         }
     }
@@ -139,195 +218,141 @@ public class PagedPane extends Pane {
     /**
      * @return The amount of pages
      */
-    @SuppressWarnings("WeakerAccess")
+    @Override
     public int getPageAmount() {
         return pages.size();
     }
 
     /**
-     * @return The number of the current page (1 based)
+     * @return The page that is currently shown
      */
-    @SuppressWarnings("WeakerAccess")
-    public int getCurrentPage() {
-        return currentIndex + 1;
+    @Nonnull
+    @Override
+    protected Page getVisiblePage() {
+        return pages.get(getCurrentIndex());
     }
 
     /**
-     * @param index The index of the new page
+     * @return The page that is currently shown
      */
-    @SuppressWarnings("WeakerAccess")
-    public void selectPage(int index) {
-        if (index < 0 || index >= getPageAmount()) {
-            throw new IllegalArgumentException(
-                    "Index out of bounds s: " + index + " [" + 0 + " " + getPageAmount() + ")"
-            );
-        }
-        if (index == currentIndex) {
-            return;
-        }
+    @Override
+    public Page getPage() {
+        return getVisiblePage();
+    }
 
-        currentIndex = index;
-        reRender();
+    @Override
+    public SortedMap<Integer, Page> getPages() {
+        return pages;
+    }
+
+    @Override
+    public Page getPage(int index) {
+        return pages.get(index);
     }
 
     /**
-     * Renders the inventory again
+     * @return The number of the current page (1 based)
      */
-    @SuppressWarnings("WeakerAccess")
-    public void reRender() {
-        inventory.clear();
-        pages.get(currentIndex).render(inventory);
-
-        controlBack = null;
-        controlNext = null;
-        createControls(inventory);
+    @Override
+    public int getCurrentPage() {
+        return navigation.getCurrentIndex() + 1;
     }
 
     /**
-     * @param event The {@link InventoryClickEvent}
+     * @param index The index of the new page
      */
     @Override
-    public void onClick(InventoryClickEvent event) {
-        event.setCancelled(true);
-
-        if (event.getRawSlot() == inventory.getSize() - 8) {
-            if (controlBack != null) {
-                controlBack.onClick(event);
-            }
-        } else if (event.getRawSlot() == inventory.getSize() - 2) {
-            if (controlNext != null) {
-                controlNext.onClick(event);
-            }
-        } else if (event.getRawSlot() == inventory.getSize() - 5) {
-            if (controlCurrent != null) {
-                controlCurrent.onClick(event);
-            }
-        } else {
-            pages.get(currentIndex).handleClick(event);
-        }
+    public void selectPage(int index) {
+        navigation.selectPage(index);
     }
 
     /**
-     * Get the object's inventory.
-     *
-     * @return The inventory.
+     * @return The index of the current page (0 based)
      */
-    @Nonnull
-    @Override
-    public Inventory getInventory() {
-        return inventory;
+    protected int getCurrentIndex() {
+        return navigation.getCurrentIndex();
     }
 
-    public SortedMap<Integer, Page> getPages() {
-        return pages;
+    /**
+     * Moves to a page without rendering, for implementations whose pages changed
+     *
+     * @param index The index of the current page
+     */
+    protected void setCurrentIndex(int index) {
+        navigation.setCurrentIndex(index);
     }
 
-    public Page getPage(int index) {
-        return pages.get(index);
+    /**
+     * Renders the inventory again, pushing only the slots that changed since the last render
+     */
+    @Override
+    public void reRender() {
+        navigation.render();
     }
 
     /**
-     * Creates the controls
+     * Shows the current page in the title. Page flips update the title of open views in place.
      *
-     * @param inventory The inventory
+     * @param titleFormat The title, {@code {page}} and {@code {pages}} are replaced with the current page and the page amount.
+     *                    Null for a fixed title.
      */
-    private void createControls(Inventory inventory) {
-        // create separator
-        fillRow(
-                inventory.getSize() / 9 - 2,
-                borderItem,
-                inventory
-        );
-
-        if (getCurrentPage() > 1) {
-            String name = String.format(
-                    Locale.ROOT,
-                    "&3&lPage &a&l%d &7/ &c&l%d",
-                    getCurrentPage() - 1, getPageAmount()
-            );
-            String lore = String.format(
-                    Locale.ROOT,
-                    "&7Brings you back to the page &c%d",
-                    getCurrentPage() - 1
-            );
-            ItemStack itemStack = getItemStack(backItem, name, lore);
-            controlBack = new Button(itemStack, event -> selectPage(currentIndex - 1));
-            inventory.setItem(inventory.getSize() - 8, itemStack);
-        }
+    public void setTitleFormat(@Nullable String titleFormat) {
+        navigation.setTitleFormat(titleFormat);
+    }
 
-        if (getCurrentPage() < getPageAmount()) {
-            String name = String.format(
-                    Locale.ROOT,
-                    "&3&lPage &a&l%d &7/ &c&l%d",
-                    getCurrentPage() + 1, getPageAmount()
-            );
-            String lore = String.format(
-                    Locale.ROOT,
-                    "&7Brings you to the page &c%d",
-                    getCurrentPage() + 1
-            );
-            ItemStack itemStack = getItemStack(nextItem, name, lore);
-            controlNext = new Button(itemStack, event -> selectPage(getCurrentPage()));
-            inventory.setItem(inventory.getSize() - 2, itemStack);
-        }
+    @Override
+    public void setTitle(@Nonnull String title) {
+        Validate.notNull(title, "title can not be null!");
 
-        {
-            String name = String.format(
-                    Locale.ROOT,
-                    "&3&lPage &a&l%d &7/ &c&l%d",
-                    getCurrentPage(), getPageAmount()
-            );
-            String lore = String.format(
-                    Locale.ROOT,
-                    "&7You are on page &a%d &7/ &c%d",
-                    getCurrentPage(), getPageAmount()
-            );
-            ItemStack itemStack = getItemStack(currentItem, name, lore);
-            inventory.setItem(inventory.getSize() - 5, itemStack);
-        }
+        super.setTitle(PageNavigation.color(title));
     }
 
-    private void fillRow(int rowIndex, @Nonnull ItemStack itemStack, @Nonnull Inventory inventory) {
-        int yMod = rowIndex * 9;
-        for (int i = 0; i < 9; i++) {
-            int slot = yMod + i;
-            inventory.setItem(slot, itemStack);
-        }
+    @Nullable
+    public String getTitleFormat() {
+        return navigation.getTitleFormat();
     }
 
     /**
-     * @param item The item.
-     * @param name The name. May be null.
-     * @param lore The lore. May be null.
-     *
-     * @return The item
+     * @param event The {@link InventoryClickEvent}
      */
-    @SuppressWarnings("ConstantConditions")
-    private ItemStack getItemStack(@Nonnull ItemStack item, @Nullable String name, @Nullable String... lore) {
-        Validate.notNull(item, "Item must not be null!");
+    @Override
+    public void onClick(InventoryClickEvent event) {
+        navigation.onClick(event);
+    }
 
-        ItemMeta itemMeta = item.getItemMeta();
-        if (name != null) {
-            itemMeta.setDisplayName(color(name));
-        }
-        if (lore != null && lore.length != 0) {
-            itemMeta.setLore(Arrays.stream(lore).map(this::color).collect(Collectors.toList()));
+    /**
+     * @return The amount of rows of a single page
+     */
+    @Override
+    public int getPageSize() {
+        return navigation.getPageSize();
+    }
+
+    @Override
+    public int getButtonCount() {
+        int buttons = 0;
+        for (Page page : getPages().values()) {
+            buttons += page.size();
         }
-        item.setItemMeta(itemMeta);
 
-        return item;
+        return buttons;
     }
 
-    private String color(String input) {
-        return ChatColor.translateAlternateColorCodes('&', input);
+    /**
+     * @return The navigation controls
+     */
+    @Nonnull
+    @Override
+    public PageControls getControls() {
+        return navigation.getControls();
     }
 
     /**
-     * @param player The {@link Player} to open it for
+     * @param controls The navigation controls. Their size must match the inventory size.
      */
-    public void open(Player player) {
-        reRender();
-        player.openInventory(getInventory());
+    @Override
+    public void setControls(@Nonnull PageControls controls) {
+        navigation.setControls(controls);
     }
 
     /**
@@ -338,11 +363,12 @@ public class PagedPane extends Pane {
     public void setBorderItem(@Nonnull ItemStack item) {
         Validate.notNull(item, "Item must not be null!");
 
-        this.borderItem = item;
+        getControls().setBorderItem(item);
+        requestRender();
     }
 
     public void setControlCurrent(Button controlCurrent) {
-        this.controlCurrent = controlCurrent;
+        navigation.setControlCurrent(controlCurrent);
     }
 
     /**
@@ -353,7 +379,8 @@ public class PagedPane extends Pane {
     public void setCurrentItem(@Nonnull ItemStack item) {
         Validate.notNull(item, "Item must not be null!");
 
-        this.currentItem = item;
+        getControls().setCurrentItem(item);
+        requestRender();
     }
 
     /**
@@ -364,7 +391,8 @@ public class PagedPane extends Pane {
     public void setBackItem(@Nonnull ItemStack item) {
         Validate.notNull(item, "Item must not be null!");
 
-        this.backItem = item;
+        getControls().setBackItem(item);
+        requestRender();
     }
 
     /**
@@ -375,23 +403,24 @@ public class PagedPane extends Pane {
     public void setNextItem(@Nonnull ItemStack item) {
         Validate.notNull(item, "Item must not be null!");
 
-        this.nextItem = item;
+        getControls().setNextItem(item);
+        requestRender();
     }
 
     public ItemStack getBorderItem() {
-        return borderItem;
+        return getControls().getBorderItem();
     }
 
     public ItemStack getCurrentItem() {
-        return currentItem;
+        return getControls().getCurrentItem();
     }
 
     public ItemStack getBackItem() {
-        return backItem;
+        return getControls().getBackItem();
     }
 
     public ItemStack getNextItem() {
-        return nextItem;
+        return getControls().getNextItem();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package tsp.nexuslib.inventory;
+
+import javax.annotation.Nonnull;
+import java.util.SortedMap;
+
+/**
+ * A pane showing one of several pages, implemented by {@link PagedPane} and {@link AbstractPagedPane}
+ */
+public interface Paginated {
+
+    /**
+     * @return The amount of pages
+     */
+    int getPageAmount();
+
+    /**
+     * @return The number of the current page (1 based)
+     */
+    int getCurrentPage();
+
+    /**
+     * @param index The index of the new page
+     */
+    void selectPage(int index);
+
+    /**
+     * @return The amount of rows of a single page
+     */
+    int getPageSize();
+
+    /**
+     * @return The pages that are held in memory, by index
+     */
+    SortedMap<Integer, Page> getPages();
+
+    /**
+     * @param index The page index
+     * @return The page
+     */
+    Page getPage(int index);
+
+    /**
+     * @return The navigation controls
+     */
+    @Nonnull
+    PageControls getControls();
+
+    /**
+     * @param controls The navigation controls. Their size must match the inventory size.
+     */
+    void setControls(@Nonnull PageControls controls);
+
+    /**
+     * Renders the pane after a change
+     */
+    void requestRender();
+
+}
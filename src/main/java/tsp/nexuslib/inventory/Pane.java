@@ -1,10 +1,7 @@
 package tsp.nexuslib.inventory;
 
-import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
 import tsp.nexuslib.util.Validate;
 
 import javax.annotation.Nonnull;
@@ -14,19 +11,13 @@ import javax.annotation.Nonnull;
  *
  * @author TheSilentPro
  */
-public class Pane implements InventoryHolder {
+public class Pane extends AbstractPane {
 
-    private final Inventory inventory;
     private final Page page;
 
     public Pane(int rows, @Nonnull String title) {
-        Validate.notNull(title, "title can not be null!");
+        super(rows, title);
 
-        if (rows > 6) {
-            throw new IllegalArgumentException("Rows must be <= 6, got " + rows);
-        }
-
-        this.inventory = Bukkit.createInventory(this, rows * 9, title);
         this.page = new Page(rows);
     }
 
@@ -35,7 +26,7 @@ public class Pane implements InventoryHolder {
 
         if (page.hasSpace()) {
             page.addButton(button);
-            reRender();
+            requestRender();
         }
     }
 
@@ -43,16 +34,17 @@ public class Pane implements InventoryHolder {
         Validate.notNull(button, "Button must not be null!");
 
         page.setButton(i, button);
-        reRender();
+        requestRender();
     }
 
     public void removeButton(@Nonnull Button button) {
         Validate.notNull(button, "Button must not be null!");
 
         page.removeButton(button);
-        reRender();
+        requestRender();
     }
 
+    @Override
     public void onClick(InventoryClickEvent event) {
         Validate.notNull(event, "InventoryClickEvent must not be null!");
 
@@ -60,30 +52,35 @@ public class Pane implements InventoryHolder {
         page.handleClick(event);
     }
 
+    /**
+     * Renders the inventory again, pushing only the slots that changed since the last render
+     */
+    @Override
     public void reRender() {
-        inventory.clear();
-        page.render(inventory);
+        ItemStack[] contents = new ItemStack[getInventory().getSize()];
+        page.render(contents);
+        push(contents);
     }
 
-
+    /**
+     * @return The page that is currently shown
+     */
     @Nonnull
     @Override
-    public Inventory getInventory() {
-        return inventory;
-    }
-
-    public Page getPage() {
+    protected Page getVisiblePage() {
         return page;
     }
 
     /**
-     * @param player The {@link Player} to open it for
+     * @return Amount of buttons held by this pane
      */
-    public void open(Player player) {
-        Validate.notNull(player, "Player must not be null!");
+    @Override
+    public int getButtonCount() {
+        return page.size();
+    }
 
-        reRender();
-        player.openInventory(getInventory());
+    public Page getPage() {
+        return page;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,271 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import tsp.nexuslib.builder.ItemBuilder;
+import tsp.nexuslib.util.StringUtils;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A pane layout declared as a character grid. Parsed and compiled into a {@link PaneTemplate} once,
+ * so opening it only copies the compiled contents.
+ * <pre>
+ * title: "&amp;3Shop"
+ * layout:
+ *   - "#########"
+ *   - "#  a b  #"
+ *   - "#<  i  >#"
+ * items:
+ *   '#':
+ *     material: BLACK_STAINED_GLASS_PANE
+ *     name: " "
+ *   a:
+ *     material: DIAMOND
+ *     name: "&amp;bDiamonds"
+ *     lore: ["&amp;7Click to buy"]
+ *     action: buy-diamonds
+ *   '&lt;':
+ *     material: ARROW
+ *     control: back
+ * </pre>
+ * Spaces are empty slots. Actions are looked up by name in the actions given when parsing.
+ * Controls ({@code back}, {@code current} and {@code next}) are only used by {@link #applyTo(Paginated)}.
+ */
+public final class PaneLayout {
+
+    private final String name;
+    private final PaneTemplate template;
+    private final Map<String, Integer> controlSlots;
+    private final Map<String, ItemStack> controlItems;
+
+    private PaneLayout(String name, PaneTemplate template, Map<String, Integer> controlSlots, Map<String, ItemStack> controlItems) {
+        this.name = name;
+        this.template = template;
+        this.controlSlots = controlSlots;
+        this.controlItems = controlItems;
+    }
+
+    /**
+     * Parses and compiles a layout
+     *
+     * @param name The name of the layout
+     * @param section The section holding the layout
+     * @param actions Actions referenced by the layout, by name
+     * @return The compiled layout
+     * @throws IllegalArgumentException If the layout is invalid
+     */
+    @Nonnull
+    public static PaneLayout parse(@Nonnull String name, @Nonnull ConfigurationSection section, @Nonnull Map<String, Consumer<InventoryClickEvent>> actions) {
+        Validate.notNull(name, "Name must not be null!");
+        Validate.notNull(section, "Section must not be null!");
+        Validate.notNull(actions, "Actions must not be null!");
+
+        List<String> grid = section.getStringList("layout");
+        if (grid.isEmpty() || grid.size() > 6) {
+            throw new IllegalArgumentException("Layout " + name + " must have 1 to 6 rows, got " + grid.size());
+        }
+
+        ConfigurationSection items = section.getConfigurationSection("items");
+        Map<Character, Button> buttons = new HashMap<>();
+        Map<Character, String> controls = new HashMap<>();
+        Map<String, ItemStack> controlItems = new HashMap<>();
+        if (items != null) {
+            for (String key : items.getKeys(false)) {
+                if (key.length() != 1) {
+                    throw new IllegalArgumentException("Key '" + key + "' of layout " + name + " must be a single character!");
+                }
+
+                ConfigurationSection item = items.getConfigurationSection(key);
+                if (item == null) {
+                    throw new IllegalArgumentException("Key '" + key + "' of layout " + name + " must be a section!");
+                }
+
+                ItemStack itemStack = parseItem(name, key, item);
+                String control = item.getString("control");
+                if (control != null) {
+                    control = control.toLowerCase(Locale.ROOT);
+                    if (!control.equals("back") && !control.equals("current") && !control.equals("next")) {
+                        throw new IllegalArgumentException("Unknown control '" + control + "' in layout " + name);
+                    }
+                    controls.put(key.charAt(0), control);
+                    controlItems.put(control, itemStack);
+                    continue;
+                }
+
+                String action = item.getString("action");
+                Consumer<InventoryClickEvent> consumer = event -> {
+                };
+                if (action != null) {
+                    consumer = actions.get(action);
+                    if (consumer == null) {
+                        throw new IllegalArgumentException("Unknown action '" + action + "' in layout " + name);
+                    }
+                }
+                buttons.put(key.charAt(0), new Button(itemStack, consumer));
+            }
+        }
+
+        PaneTemplate.Builder builder = PaneTemplate.builder(grid.size(), StringUtils.colorize(section.getString("title", name)));
+        Map<String, Integer> controlSlots = new HashMap<>();
+        for (int row = 0; row < grid.size(); row++) {
+            String line = grid.get(row);
+            if (line.length() > 9) {
+                throw new IllegalArgumentException("Row " + row + " of layout " + name + " is longer than 9 characters!");
+            }
+
+            for (int column = 0; column < line.length(); column++) {
+                char key = line.charAt(column);
+                if (key == ' ') {
+                    continue;
+                }
+
+                int slot = row * 9 + column;
+                Button button = buttons.get(key);
+                if (button != null) {
+                    builder.button(slot, button);
+                } else if (controls.containsKey(key)) {
+                    controlSlots.put(controls.get(key), slot);
+                } else {
+                    throw new IllegalArgumentException("Key '" + key + "' of layout " + name + " is not defined!");
+                }
+            }
+        }
+
+        return new PaneLayout(name, builder.build(), controlSlots, controlItems);
+    }
+
+    /**
+     * @param file The file holding the layout. The name of the layout is the file name without extension.
+     * @param actions Actions referenced by the layout, by name
+     * @return The compiled layout
+     * @throws IllegalArgumentException If the layout is invalid
+     */
+    @Nonnull
+    public static PaneLayout load(@Nonnull File file, @Nonnull Map<String, Consumer<InventoryClickEvent>> actions) {
+        Validate.notNull(file, "File must not be null!");
+
+        String name = file.getName();
+        int extension = name.lastIndexOf('.');
+        return parse(extension > 0 ? name.substring(0, extension) : name, YamlConfiguration.loadConfiguration(file), actions);
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    private static ItemStack parseItem(String layout, String key, ConfigurationSection section) {
+        Material material = Material.matchMaterial(section.getString("material", ""));
+        if (material == null || !material.isItem()) {
+            throw new IllegalArgumentException("Invalid material of key '" + key + "' in layout " + layout + ": " + section.getString("material"));
+        }
+
+        ItemBuilder builder = new ItemBuilder(material).amount(section.getInt("amount", 1));
+        if (section.isString("name")) {
+            builder.name(section.getString("name"));
+        }
+        if (section.isList("lore")) {
+            builder.setLore(section.getStringList("lore"));
+        }
+        if (section.isInt("custom-model-data")) {
+            builder.setCustomModelData(section.getInt("custom-model-data"));
+        }
+        if (section.getBoolean("glow")) {
+            builder.setGlow(true);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @return A pane showing this layout to every viewer
+     */
+    @Nonnull
+    public SharedPane share() {
+        return template.share();
+    }
+
+    /**
+     * @return A new pane for a single viewer. Slots set on it override the layout.
+     */
+    @Nonnull
+    public PaneOverlay createPane() {
+        return template.overlay();
+    }
+
+    /**
+     * Applies the items and controls of this layout to a paged pane.
+     * The layout items replace the border, clicks on them are ignored.
+     * The rows used by the pages must be empty in the layout.
+     *
+     * @param pane The pane, its size must match the layout
+     * @throws IllegalArgumentException If the size does not match or the layout places an item or control on the page
+     */
+    public void applyTo(@Nonnull Paginated pane) {
+        Validate.notNull(pane, "Pane must not be null!");
+
+        PageControls controls = pane.getControls();
+        if (controls.getSize() != template.getSize()) {
+            throw new IllegalArgumentException("Layout " + name + " has " + template.getSize() + " slots, the pane has " + controls.getSize());
+        }
+
+        ItemStack[] decoration = new ItemStack[template.getSize()];
+        template.copyContents(decoration);
+        // The page is shown in the first slots, the layout may only decorate the slots after it
+        int pageSlots = pane.getPageSize() * 9;
+        for (int i = 0; i < pageSlots && i < decoration.length; i++) {
+            if (decoration[i] != null) {
+                throw new IllegalArgumentException("Layout " + name + " places an item in slot " + i + ", which is part of the page (slots [0 " + pageSlots + "))");
+            }
+        }
+        for (Map.Entry<String, Integer> entry : controlSlots.entrySet()) {
+            if (entry.getValue() < pageSlots) {
+                throw new IllegalArgumentException("Layout " + name + " places the " + entry.getKey() + " control in slot " + entry.getValue() + ", which is part of the page (slots [0 " + pageSlots + "))");
+            }
+        }
+
+        controls.setDecoration(decoration);
+        controls.setBorderRow(-1);
+        controls.setBackSlot(controlSlots.getOrDefault("back", -1));
+        controls.setCurrentSlot(controlSlots.getOrDefault("current", -1));
+        controls.setNextSlot(controlSlots.getOrDefault("next", -1));
+        if (controlItems.containsKey("back")) {
+            controls.setBackItem(controlItems.get("back"));
+        }
+        if (controlItems.containsKey("current")) {
+            controls.setCurrentItem(controlItems.get("current"));
+        }
+        if (controlItems.containsKey("next")) {
+            controls.setNextItem(controlItems.get("next"));
+        }
+        pane.requestRender();
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    @Nonnull
+    public PaneTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * @param control The control, {@code back}, {@code current} or {@code next}
+     * @return The slot of the control, or null if the layout does not define it
+     */
+    @Nullable
+    public Integer getControlSlot(@Nonnull String control) {
+        return controlSlots.get(control);
+    }
+
+}
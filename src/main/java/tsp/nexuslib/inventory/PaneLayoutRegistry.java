@@ -0,0 +1,141 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import tsp.nexuslib.task.TaskBackends;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Loads every {@code .yml} file of a directory as a {@link PaneLayout}, named after the file.
+ * With {@link #watch(long)} changed files are compiled again in the background and replace the old layout,
+ * so menus can be edited without a restart. Panes that are already open keep the layout they were opened with.
+ */
+public class PaneLayoutRegistry {
+
+    private final JavaPlugin plugin;
+    private final File directory;
+    private final Map<String, Consumer<InventoryClickEvent>> actions = new ConcurrentHashMap<>();
+    private final Map<String, PaneLayout> layouts = new ConcurrentHashMap<>();
+    private final Map<String, Long> modified = new ConcurrentHashMap<>();
+    private BukkitTask watcher;
+
+    /**
+     * @param plugin The plugin
+     * @param directory The directory holding the layouts
+     */
+    public PaneLayoutRegistry(@Nonnull JavaPlugin plugin, @Nonnull File directory) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+        Validate.notNull(directory, "Directory must not be null!");
+
+        this.plugin = plugin;
+        this.directory = directory;
+    }
+
+    /**
+     * Registers an action that layouts can reference. Must be registered before the layouts using it are loaded.
+     *
+     * @param name The name of the action
+     * @param action The action
+     */
+    public PaneLayoutRegistry action(@Nonnull String name, @Nonnull Consumer<InventoryClickEvent> action) {
+        Validate.notNull(name, "Name must not be null!");
+        Validate.notNull(action, "Action must not be null!");
+
+        actions.put(name, action);
+        return this;
+    }
+
+    /**
+     * Loads all layouts again. Invalid layouts are logged and the previous version is kept.
+     */
+    public void reload() {
+        modified.clear();
+        scan();
+    }
+
+    /**
+     * Polls the directory for changed layouts in the background
+     *
+     * @param intervalTicks Ticks between polls
+     */
+    public void watch(long intervalTicks) {
+        Validate.isTrue(intervalTicks > 0, "Interval must be > 0, got " + intervalTicks);
+
+        unwatch();
+        watcher = TaskBackends.get().runAsync(plugin, this::scan, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Stops polling the directory
+     */
+    public void unwatch() {
+        if (watcher != null) {
+            watcher.cancel();
+            watcher = null;
+        }
+    }
+
+    // Compiles every file whose last modification changed since the last scan
+    private synchronized void scan() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files == null) {
+            return;
+        }
+
+        Set<String> found = new HashSet<>();
+        for (File file : files) {
+            String name = file.getName().substring(0, file.getName().length() - 4);
+            found.add(name);
+
+            long lastModified = file.lastModified();
+            Long previous = modified.put(name, lastModified);
+            if (previous != null && previous == lastModified) {
+                continue;
+            }
+
+            try {
+                layouts.put(name, PaneLayout.load(file, actions));
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.WARNING, "Failed to load pane layout " + file.getName() + ", keeping the previous version", ex);
+            }
+        }
+
+        layouts.keySet().retainAll(found);
+        modified.keySet().retainAll(found);
+    }
+
+    /**
+     * @param name The name of the layout
+     * @return The layout, or null if there is none with that name
+     */
+    @Nullable
+    public PaneLayout get(@Nonnull String name) {
+        return layouts.get(name);
+    }
+
+    /**
+     * @return All loaded layouts, by name
+     */
+    @Nonnull
+    public Map<String, PaneLayout> getLayouts() {
+        return Collections.unmodifiableMap(layouts);
+    }
+
+    @Nonnull
+    public File getDirectory() {
+        return directory;
+    }
+
+}
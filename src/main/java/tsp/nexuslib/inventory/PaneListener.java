@@ -1,27 +1,92 @@
 package tsp.nexuslib.inventory;
 
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import javax.annotation.Nullable;
+
 /**
- * Listens for click events for the {@link PagedPane} and {@link Pane}
+ * Listens for click events for all {@link AbstractPane}'s
+ * and keeps the {@link PaneRegistry} up to date.
  * Requires to be registered.
  */
 public class PaneListener implements Listener {
 
-    public PaneListener(JavaPlugin plugin) {
+    private ClickLimiter limiter;
+
+    /**
+     * @param plugin The plugin
+     * @param limiter Limits how fast viewers can click. May be null for no limit.
+     */
+    public PaneListener(JavaPlugin plugin, @Nullable ClickLimiter limiter) {
+        this.limiter = limiter;
+        PaneRegistry.init(plugin);
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
+    public PaneListener(JavaPlugin plugin) {
+        this(plugin, null);
+    }
+
     @EventHandler
     public void onClick(InventoryClickEvent event) {
         InventoryHolder holder = event.getInventory().getHolder();
 
-        if (holder instanceof Pane) {
-            ((Pane) holder).onClick(event);
+        if (holder instanceof AbstractPane pane) {
+            if (limiter != null && !limiter.tryClick(event.getWhoClicked().getUniqueId(), event.getClick())) {
+                // Over the limit, drop the click without running any action
+                event.setCancelled(true);
+                return;
+            }
+
+            pane.onClick(event);
         }
     }
-}
\ No newline at end of file
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onOpen(InventoryOpenEvent event) {
+        InventoryHolder holder = event.getInventory().getHolder();
+
+        if (holder instanceof AbstractPane pane && event.getPlayer() instanceof Player player) {
+            PaneRegistry.opened(player, pane);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onClose(InventoryCloseEvent event) {
+        InventoryHolder holder = event.getInventory().getHolder();
+
+        if (holder instanceof AbstractPane pane && event.getPlayer() instanceof Player player) {
+            PaneRegistry.closed(player, pane);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        PaneRegistry.closed(event.getPlayer());
+        if (limiter != null) {
+            limiter.remove(event.getPlayer().getUniqueId());
+        }
+    }
+
+    /**
+     * @param limiter Limits how fast viewers can click. May be null for no limit.
+     */
+    public void setClickLimiter(@Nullable ClickLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Nullable
+    public ClickLimiter getClickLimiter() {
+        return limiter;
+    }
+
+}
@@ -0,0 +1,186 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import tsp.nexuslib.task.TaskBackends;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * The contents of a pane, without an {@link org.bukkit.inventory.Inventory}.
+ * A model can be built from any thread, even concurrently, and is bound to an inventory by committing it on the main thread.
+ * <pre>{@code
+ * CompletableFuture.runAsync(() -> {
+ *     PaneModel model = new PaneModel(6, "Auctions");
+ *     for (Auction auction : database.loadAuctions()) {
+ *         model.addButton(new Button(auction.createIcon(), event -> auction.bid(event.getWhoClicked())));
+ *     }
+ *     model.commitPaged(plugin, 4, pane -> pane.open(player));
+ * });
+ * }</pre>
+ */
+public class PaneModel {
+
+    private final int rows;
+    private final String title;
+    private final TreeMap<Integer, Button> slots = new TreeMap<>();
+    private final List<Button> buttons = new ArrayList<>();
+
+    public PaneModel(int rows, @Nonnull String title) {
+        Validate.notNull(title, "title can not be null!");
+        if (rows > 6) {
+            throw new IllegalArgumentException("Rows must be <= 6, got " + rows);
+        }
+
+        this.rows = rows;
+        this.title = title;
+    }
+
+    /**
+     * @param button The button to add to the first free slot
+     */
+    public synchronized PaneModel addButton(@Nonnull Button button) {
+        Validate.notNull(button, "Button must not be null!");
+
+        buttons.add(button);
+        return this;
+    }
+
+    /**
+     * @param buttons The buttons to add to the first free slots
+     */
+    public synchronized PaneModel addButtons(@Nonnull Collection<? extends Button> buttons) {
+        Validate.notNull(buttons, "Buttons must not be null!");
+
+        for (Button button : buttons) {
+            addButton(button);
+        }
+        return this;
+    }
+
+    /**
+     * @param slot The slot
+     * @param button The button
+     */
+    public synchronized PaneModel setButton(int slot, @Nonnull Button button) {
+        Validate.notNull(button, "Button must not be null!");
+        if (slot < 0 || slot >= rows * 9) {
+            throw new IllegalArgumentException("Slot must be in [0 " + rows * 9 + "), got " + slot);
+        }
+
+        slots.put(slot, button);
+        return this;
+    }
+
+    /**
+     * Binds the model to a new single page pane. Buttons set to a slot are placed first.
+     *
+     * @return The pane
+     * @throws IllegalStateException If not called on the main thread
+     */
+    @Nonnull
+    public synchronized Pane commit() {
+        checkPrimaryThread();
+
+        Pane pane = new Pane(rows, title);
+        pane.batch(() -> {
+            slots.forEach(pane::setButton);
+            for (Button button : buttons) {
+                pane.addButton(button);
+            }
+        });
+        return pane;
+    }
+
+    /**
+     * Binds the model to a new paged pane. Buttons set to a slot are placed on the first page.
+     *
+     * @param pageSize The page size
+     * @return The pane
+     * @throws IllegalStateException If not called on the main thread
+     * @throws IllegalArgumentException If a button is set to a slot outside of the first page
+     */
+    @Nonnull
+    public synchronized PagedPane commitPaged(int pageSize) {
+        checkPrimaryThread();
+        checkSlots(pageSize);
+
+        PagedPane pane = new PagedPane(pageSize, rows, title);
+        pane.batch(() -> {
+            slots.forEach(pane::setButton);
+            pane.addButtons(buttons);
+        });
+        return pane;
+    }
+
+    // Slots were validated against the rows, a page may be smaller than that
+    private synchronized void checkSlots(int pageSize) {
+        if (slots.isEmpty()) {
+            return;
+        }
+
+        int last = slots.lastKey();
+        if (last >= pageSize * 9) {
+            throw new IllegalArgumentException("Slot " + last + " is outside of a page with " + pageSize + " rows, slots must be in [0 " + pageSize * 9 + ")");
+        }
+    }
+
+    /**
+     * Commits the model on the main thread
+     *
+     * @param plugin The plugin used for main thread delivery
+     * @param callback Called on the main thread with the pane
+     */
+    public void commit(@Nonnull JavaPlugin plugin, @Nonnull Consumer<Pane> callback) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+        Validate.notNull(callback, "Callback must not be null!");
+
+        TaskBackends.get().run(plugin, () -> callback.accept(commit()), -1, -1);
+    }
+
+    /**
+     * Commits the model on the main thread
+     *
+     * @param plugin The plugin used for main thread delivery
+     * @param pageSize The page size
+     * @param callback Called on the main thread with the pane
+     * @throws IllegalArgumentException If a button is set to a slot outside of the first page
+     */
+    public void commitPaged(@Nonnull JavaPlugin plugin, int pageSize, @Nonnull Consumer<PagedPane> callback) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+        Validate.notNull(callback, "Callback must not be null!");
+        // Thrown to the caller, not inside the main thread task
+        checkSlots(pageSize);
+
+        TaskBackends.get().run(plugin, () -> callback.accept(commitPaged(pageSize)), -1, -1);
+    }
+
+    private void checkPrimaryThread() {
+        if (!Bukkit.isPrimaryThread()) {
+            throw new IllegalStateException("A PaneModel must be committed on the main thread!");
+        }
+    }
+
+    /**
+     * @return Amount of buttons in this model
+     */
+    public synchronized int size() {
+        return slots.size() + buttons.size();
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    @Nonnull
+    public String getTitle() {
+        return title;
+    }
+
+}
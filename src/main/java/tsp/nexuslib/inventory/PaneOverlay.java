@@ -0,0 +1,175 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * A per-viewer pane on top of a {@link PaneTemplate}.
+ * Only the buttons set on the overlay are stored, every other slot is read from the template.
+ * {@link DynamicButton}'s of the template and of the overlay are updated while the pane is open.
+ * The template is copied into the inventory once when opened, later renders only compare the overlay slots
+ * against the inventory, so no snapshot of the contents is kept per viewer.
+ *
+ * @see PaneTemplate#overlay()
+ */
+public class PaneOverlay extends AbstractPane {
+
+    private final PaneTemplate template;
+    private final Page page;
+    // Slots showing an overlay button in the inventory
+    private final BitSet overlaid = new BitSet();
+    private boolean initialized;
+
+    public PaneOverlay(@Nonnull PaneTemplate template) {
+        super(validate(template).getRows(), template.getTitle());
+
+        this.template = template;
+        this.page = new Page(template.getRows());
+    }
+
+    private static PaneTemplate validate(PaneTemplate template) {
+        Validate.notNull(template, "Template must not be null!");
+        return template;
+    }
+
+    /**
+     * Sets a button on top of the template
+     *
+     * @param i The slot
+     * @param button The button
+     */
+    public void setButton(int i, @Nonnull Button button) {
+        Validate.notNull(button, "Button must not be null!");
+
+        page.setButton(i, button);
+        requestRender();
+    }
+
+    /**
+     * Removes a button of the overlay, showing the template in its slot again
+     *
+     * @param button The button
+     */
+    public void removeButton(@Nonnull Button button) {
+        Validate.notNull(button, "Button must not be null!");
+
+        if (page.removeButton(button)) {
+            requestRender();
+        }
+    }
+
+    @Override
+    public void onClick(InventoryClickEvent event) {
+        Validate.notNull(event, "InventoryClickEvent must not be null!");
+
+        event.setCancelled(true);
+        if (event.getRawSlot() >= event.getInventory().getSize() || event.getSlotType() == InventoryType.SlotType.OUTSIDE) {
+            return;
+        }
+
+        Button button = page.getButton(event.getSlot());
+        if (button == null) {
+            button = template.getButton(event.getSlot());
+        }
+        if (button != null) {
+            button.onClick(event);
+        }
+    }
+
+    /**
+     * Renders the template with the buttons of this overlay on top.
+     * After the first render only the slots of the overlay, current and previous, are rendered again.
+     */
+    @Override
+    public void reRender() {
+        Inventory inventory = getInventory();
+        if (!initialized) {
+            ItemStack[] contents = new ItemStack[inventory.getSize()];
+            template.copyContents(contents);
+            page.render(contents);
+            inventory.setContents(contents);
+            initialized = true;
+        } else {
+            BitSet slots = (BitSet) overlaid.clone();
+            slots.or(page.getOccupied());
+            for (int i = slots.nextSetBit(0); i >= 0; i = slots.nextSetBit(i + 1)) {
+                renderSlot(inventory, i);
+            }
+        }
+
+        overlaid.clear();
+        overlaid.or(page.getOccupied());
+    }
+
+    // A removed overlay button shows the template again
+    private void renderSlot(Inventory inventory, int slot) {
+        Button button = page.getButton(slot);
+        ItemStack item = button != null ? button.getItemStack() : template.getItem(slot);
+        if (!Objects.equals(inventory.getItem(slot), item)) {
+            inventory.setItem(slot, item);
+        }
+    }
+
+    /**
+     * Updates the dynamic buttons of the overlay and of the template
+     */
+    @Override
+    void updateDynamic(long tick) {
+        if (!initialized) {
+            return;
+        }
+
+        if (template.hasDynamicButtons() && template.updateDynamic(tick)) {
+            Inventory inventory = getInventory();
+            BitSet dynamic = template.getDynamicSlots();
+            for (int i = dynamic.nextSetBit(0); i >= 0; i = dynamic.nextSetBit(i + 1)) {
+                if (!overlaid.get(i)) {
+                    renderSlot(inventory, i);
+                }
+            }
+        }
+        if (page.hasDynamicButtons() && page.updateDynamic(tick)) {
+            reRender();
+        }
+    }
+
+    /**
+     * The next open copies the template into the inventory again
+     */
+    @Override
+    protected void release() {
+        super.release();
+        initialized = false;
+    }
+
+    @Nonnull
+    @Override
+    protected Page getVisiblePage() {
+        return page;
+    }
+
+    @Override
+    public int getButtonCount() {
+        return page.size();
+    }
+
+    /**
+     * @return The buttons set on the overlay
+     */
+    public Page getPage() {
+        return page;
+    }
+
+    @Nonnull
+    public PaneTemplate getTemplate() {
+        return template;
+    }
+
+}
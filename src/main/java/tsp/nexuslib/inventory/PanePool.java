@@ -0,0 +1,100 @@
+package tsp.nexuslib.inventory;
+
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Reuses pane instances instead of building a new one for every viewer.
+ * A pane acquired from a pool returns to it once its last viewer closed it, see {@link PaneRegistry}.
+ * <pre>{@code
+ * PanePool<PagedPane> pool = new PanePool<>(() -> createWarpsPane(), null, 16);
+ * pool.acquire().open(player);
+ * }</pre>
+ *
+ * @param <P> Type of the panes
+ */
+public class PanePool<P extends AbstractPane> {
+
+    private final Supplier<P> factory;
+    private final Consumer<P> reset;
+    private final int maxIdle;
+    private final Deque<P> idle = new ArrayDeque<>();
+    private int created;
+
+    /**
+     * @param factory Creates a new pane
+     * @param reset Resets per-viewer state of a pane before it returns to the pool. May be null.
+     * @param maxIdle Maximum amount of idle panes kept, further ones are dropped
+     */
+    public PanePool(@Nonnull Supplier<P> factory, @Nullable Consumer<P> reset, int maxIdle) {
+        Validate.notNull(factory, "Factory must not be null!");
+        Validate.isTrue(maxIdle >= 0, "Max idle must be >= 0, got " + maxIdle);
+
+        this.factory = factory;
+        this.reset = reset;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * @return An idle pane, or a new one if there is none
+     */
+    @Nonnull
+    public P acquire() {
+        P pane = idle.poll();
+        if (pane == null) {
+            pane = factory.get();
+            pane.pool = this;
+            created++;
+        }
+
+        return pane;
+    }
+
+    @SuppressWarnings("unchecked")
+    void recycle(AbstractPane pane) {
+        if (idle.size() >= maxIdle) {
+            pane.pool = null;
+            return;
+        }
+
+        if (reset != null) {
+            reset.accept((P) pane);
+        }
+        idle.push((P) pane);
+    }
+
+    /**
+     * Drops all idle panes
+     */
+    public void clear() {
+        for (P pane : idle) {
+            pane.pool = null;
+        }
+        idle.clear();
+    }
+
+    /**
+     * @return Amount of idle panes
+     */
+    public int getIdle() {
+        return idle.size();
+    }
+
+    /**
+     * @return Amount of panes created by this pool
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+}
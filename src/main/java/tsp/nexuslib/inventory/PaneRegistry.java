@@ -0,0 +1,215 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import tsp.nexuslib.task.TaskBackends;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tracks which {@link AbstractPane} every player has open.
+ * Filled by the {@link PaneListener}. Once the last viewer of a pane closes it,
+ * the pane is {@link AbstractPane#release() released} on the next tick unless it was opened again in the meantime.
+ * <p>
+ * Initialized with the plugin owning the panes when the {@link PaneListener} is created.
+ */
+public final class PaneRegistry {
+
+    private static final Map<UUID, AbstractPane> viewers = new HashMap<>();
+    private static final Map<AbstractPane, Integer> panes = new HashMap<>();
+    private static volatile JavaPlugin plugin;
+
+    private PaneRegistry() {}
+
+    /**
+     * Sets the plugin that schedules the tasks of all panes
+     *
+     * @param plugin The plugin
+     */
+    public static void init(@Nonnull JavaPlugin plugin) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+
+        PaneRegistry.plugin = plugin;
+    }
+
+    /**
+     * @return The plugin that schedules the tasks of all panes
+     * @throws IllegalStateException If no {@link PaneListener} was created yet
+     */
+    @Nonnull
+    public static JavaPlugin getPlugin() {
+        JavaPlugin result = plugin;
+        if (result == null) {
+            throw new IllegalStateException("PaneRegistry is not initialized, create a PaneListener first!");
+        }
+
+        return result;
+    }
+
+    static boolean isInitialized() {
+        return plugin != null;
+    }
+
+    /**
+     * @param player The player that opened the pane
+     * @param pane The pane
+     */
+    static void opened(@Nonnull Player player, @Nonnull AbstractPane pane) {
+        AbstractPane previous = viewers.put(player.getUniqueId(), pane);
+        if (previous == pane) {
+            return;
+        }
+        if (previous != null) {
+            // The close of the previous pane was missed
+            close(player, previous);
+        }
+
+        panes.merge(pane, 1, Integer::sum);
+    }
+
+    /**
+     * @param player The player that closed the pane
+     * @param pane The pane
+     */
+    static void closed(@Nonnull Player player, @Nonnull AbstractPane pane) {
+        if (viewers.remove(player.getUniqueId(), pane)) {
+            close(player, pane);
+        }
+    }
+
+    /**
+     * @param player The player that closed whatever pane was open
+     */
+    static void closed(@Nonnull Player player) {
+        AbstractPane pane = viewers.remove(player.getUniqueId());
+        if (pane != null) {
+            close(player, pane);
+        }
+    }
+
+    private static void close(Player player, AbstractPane pane) {
+        pane.onClose(player);
+
+        Integer remaining = panes.computeIfPresent(pane, (key, count) -> count > 1 ? count - 1 : null);
+        if (remaining != null) {
+            return;
+        }
+
+        JavaPlugin owner = plugin;
+        if (owner == null || !owner.isEnabled()) {
+            // Nothing can be scheduled anymore
+            release(pane);
+            return;
+        }
+
+        // Deferred, the same pane is often opened again right after it was closed
+        TaskBackends.get().run(owner, () -> {
+            if (!panes.containsKey(pane)) {
+                release(pane);
+            }
+        }, -1, -1);
+    }
+
+    private static void release(AbstractPane pane) {
+        pane.release();
+
+        PanePool<?> pool = pane.pool;
+        if (pool != null) {
+            pool.recycle(pane);
+        }
+    }
+
+    /**
+     * Closes every open pane and releases it right away, e.g. when the plugin is disabled
+     */
+    public static void closeAll() {
+        for (UUID uuid : new ArrayList<>(viewers.keySet())) {
+            // Removed first, so the close event fired by closeInventory does not close the pane a second time
+            AbstractPane pane = viewers.remove(uuid);
+            Player player = Bukkit.getPlayer(uuid);
+            if (pane == null || player == null) {
+                // The viewer is gone already, there is nobody to run the close action for
+                continue;
+            }
+
+            player.closeInventory();
+            pane.onClose(player);
+        }
+
+        // Every pane once, no matter how many viewers it had
+        List<AbstractPane> open = new ArrayList<>(panes.keySet());
+        panes.clear();
+        for (AbstractPane pane : open) {
+            release(pane);
+        }
+    }
+
+    /**
+     * @param player The player
+     * @return The pane the player has open, or null if none
+     */
+    @Nullable
+    public static AbstractPane getOpen(@Nonnull Player player) {
+        Validate.notNull(player, "Player must not be null!");
+
+        return viewers.get(player.getUniqueId());
+    }
+
+    /**
+     * @return All panes that are open
+     */
+    @Nonnull
+    public static Set<AbstractPane> getOpenPanes() {
+        return Collections.unmodifiableSet(panes.keySet());
+    }
+
+    /**
+     * @return Amount of open panes
+     */
+    public static int getOpenCount() {
+        return panes.size();
+    }
+
+    /**
+     * @return Amount of players viewing a pane
+     */
+    public static int getViewerCount() {
+        return viewers.size();
+    }
+
+    /**
+     * @return Amount of buttons held by all open panes
+     */
+    public static long getButtonCount() {
+        long buttons = 0;
+        for (AbstractPane pane : panes.keySet()) {
+            buttons += pane.getButtonCount();
+        }
+
+        return buttons;
+    }
+
+    /**
+     * @return Estimated amount of items retained by all open panes
+     * @see AbstractPane#getRetainedItems()
+     */
+    public static long getRetainedItems() {
+        long items = 0;
+        for (AbstractPane pane : panes.keySet()) {
+            items += pane.getRetainedItems();
+        }
+
+        return items;
+    }
+
+}
@@ -0,0 +1,228 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.inventory.ItemStack;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.BitSet;
+
+/**
+ * An immutable pane layout that is built once and shared by all viewers.
+ * <pre>{@code
+ * PaneTemplate selector = PaneTemplate.builder(3, "Servers")
+ *         .button(11, new Button(survivalIcon, event -> connect(event, "survival")))
+ *         .button(15, new Button(creativeIcon, event -> connect(event, "creative")))
+ *         .build();
+ *
+ * SharedPane pane = selector.share(); // One inventory for every viewer
+ * PaneOverlay overlay = selector.overlay(); // Own inventory, only the differing slots are stored
+ * }</pre>
+ */
+public final class PaneTemplate {
+
+    private final int rows;
+    private final String title;
+    private final Button[] buttons;
+    private final ItemStack[] contents;
+    // Slots holding a DynamicButton, their items are read from the button on every render
+    private final BitSet dynamic = new BitSet();
+
+    private PaneTemplate(int rows, String title, Button[] buttons) {
+        this.rows = rows;
+        this.title = title;
+        this.buttons = buttons;
+        this.contents = new ItemStack[buttons.length];
+        for (int i = 0; i < buttons.length; i++) {
+            if (buttons[i] instanceof DynamicButton) {
+                dynamic.set(i);
+                continue;
+            }
+            // Copied once, later changes to the button items do not leak into the template
+            if (buttons[i] != null && buttons[i].getItemStack() != null) {
+                contents[i] = buttons[i].getItemStack().clone();
+            }
+        }
+    }
+
+    /**
+     * @param rows The rows
+     * @param title The title
+     * @return A new builder
+     */
+    @Nonnull
+    public static Builder builder(int rows, @Nonnull String title) {
+        return new Builder(rows, title);
+    }
+
+    /**
+     * @return A pane with a single inventory shared by all viewers
+     */
+    @Nonnull
+    public SharedPane share() {
+        return new SharedPane(this);
+    }
+
+    /**
+     * @return A pane that shows this template and stores only the slots set on it
+     */
+    @Nonnull
+    public PaneOverlay overlay() {
+        return new PaneOverlay(this);
+    }
+
+    /**
+     * @param slot The slot
+     * @return The button in the slot, or null if the slot is empty or outside of the template
+     */
+    @Nullable
+    public Button getButton(int slot) {
+        if (slot < 0 || slot >= buttons.length) {
+            return null;
+        }
+
+        return buttons[slot];
+    }
+
+    /**
+     * @param slot The slot
+     * @return The rendered item of the slot, shared with the template and must not be modified
+     */
+    @Nullable
+    ItemStack getItem(int slot) {
+        if (slot < 0 || slot >= buttons.length) {
+            return null;
+        }
+
+        return dynamic.get(slot) ? buttons[slot].getItemStack() : contents[slot];
+    }
+
+    // Slots holding a DynamicButton, must not be modified
+    BitSet getDynamicSlots() {
+        return dynamic;
+    }
+
+    /**
+     * Copies the rendered contents into an array, with the current items of the {@link DynamicButton}'s.
+     * The items are shared with the template and must not be modified.
+     *
+     * @param target The array to copy into, indexed by slot
+     */
+    public void copyContents(@Nonnull ItemStack[] target) {
+        Validate.notNull(target, "Target must not be null!");
+
+        System.arraycopy(contents, 0, target, 0, Math.min(contents.length, target.length));
+        for (int i = dynamic.nextSetBit(0); i >= 0 && i < target.length; i = dynamic.nextSetBit(i + 1)) {
+            target[i] = buttons[i].getItemStack();
+        }
+    }
+
+    /**
+     * Updates the {@link DynamicButton}'s of this template that are due.
+     * Panes sharing the template may all call this in the same tick, every button is only updated once.
+     *
+     * @param tick The current tick of the {@link PaneTicker}
+     * @return True if the item of any of them changed in this tick
+     */
+    boolean updateDynamic(long tick) {
+        boolean changed = false;
+        for (int i = dynamic.nextSetBit(0); i >= 0; i = dynamic.nextSetBit(i + 1)) {
+            if (((DynamicButton) buttons[i]).update(tick)) {
+                changed = true;
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * @return True if this template holds any {@link DynamicButton}
+     */
+    public boolean hasDynamicButtons() {
+        return !dynamic.isEmpty();
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getSize() {
+        return buttons.length;
+    }
+
+    @Nonnull
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Builder of a {@link PaneTemplate}
+     */
+    public static final class Builder {
+
+        private final int rows;
+        private final String title;
+        private final Button[] buttons;
+
+        private Builder(int rows, String title) {
+            Validate.notNull(title, "title can not be null!");
+            if (rows < 1 || rows > 6) {
+                throw new IllegalArgumentException("Rows must be in [1 6], got " + rows);
+            }
+
+            this.rows = rows;
+            this.title = title;
+            this.buttons = new Button[rows * 9];
+        }
+
+        /**
+         * @param slot The slot
+         * @param button The button
+         */
+        public Builder button(int slot, @Nonnull Button button) {
+            Validate.notNull(button, "Button must not be null!");
+            if (slot < 0 || slot >= buttons.length) {
+                throw new IllegalArgumentException("Slot must be in [0 " + buttons.length + "), got " + slot);
+            }
+
+            buttons[slot] = button;
+            return this;
+        }
+
+        /**
+         * Places an item without an action
+         *
+         * @param slot The slot
+         * @param item The item
+         */
+        public Builder item(int slot, @Nonnull ItemStack item) {
+            Validate.notNull(item, "Item must not be null!");
+
+            return button(slot, new Button(item));
+        }
+
+        /**
+         * Places an item without an action in every empty slot
+         *
+         * @param item The item
+         */
+        public Builder fill(@Nonnull ItemStack item) {
+            Validate.notNull(item, "Item must not be null!");
+
+            Button filler = new Button(item);
+            for (int i = 0; i < buttons.length; i++) {
+                if (buttons[i] == null) {
+                    buttons[i] = filler;
+                }
+            }
+            return this;
+        }
+
+        @Nonnull
+        public PaneTemplate build() {
+            return new PaneTemplate(rows, title, buttons.clone());
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.scheduler.BukkitTask;
+import tsp.nexuslib.task.TaskBackends;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * A single ticker updating the {@link DynamicButton}'s of all open panes.
+ * Panes are tracked when opened and dropped once nobody is viewing them.
+ * The ticker only runs while at least one pane is tracked.
+ * A pane whose dynamic buttons throw is logged and no longer updated.
+ */
+public final class PaneTicker {
+
+    private static final Set<AbstractPane> panes = new LinkedHashSet<>();
+    private static BukkitTask task;
+    private static long tick;
+
+    private PaneTicker() {}
+
+    /**
+     * @param pane The pane to update while it is open
+     */
+    public static void track(@Nonnull AbstractPane pane) {
+        Validate.notNull(pane, "Pane must not be null!");
+
+        panes.add(pane);
+        if (task == null) {
+            task = TaskBackends.get().run(PaneRegistry.getPlugin(), PaneTicker::run, 1, 1);
+        }
+    }
+
+    /**
+     * @param pane The pane to stop updating
+     */
+    public static void untrack(@Nonnull AbstractPane pane) {
+        panes.remove(pane);
+    }
+
+    private static void run() {
+        tick++;
+        for (Iterator<AbstractPane> iterator = panes.iterator(); iterator.hasNext(); ) {
+            AbstractPane pane = iterator.next();
+            if (pane.getInventory().getViewers().isEmpty()) {
+                iterator.remove();
+                continue;
+            }
+
+            try {
+                pane.updateDynamic(tick);
+            } catch (RuntimeException ex) {
+                // One failing supplier must not stop the other panes from updating
+                iterator.remove();
+                PaneRegistry.getPlugin().getLogger().log(Level.SEVERE, "Failed to update the dynamic buttons of pane " + pane.getTitle() + ", no longer updating it", ex);
+            }
+        }
+
+        if (panes.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * @return The tracked panes
+     */
+    @Nonnull
+    public static Set<AbstractPane> getTracked() {
+        return Collections.unmodifiableSet(panes);
+    }
+
+    /**
+     * @return The current tick of the ticker
+     */
+    public static long getTick() {
+        return tick;
+    }
+
+}
@@ -0,0 +1,281 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.ChatColor;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * A searchable and sortable view over the buttons of a {@link PagedPane}.
+ * Button labels are indexed by the prefixes of their words, so a search does not scan every button.
+ * The order of the current comparator is computed once and reused for each filter.
+ * <pre>{@code
+ * PaneView view = new PaneView(shop, offers);
+ * view.sort(BY_PRICE).filter("diamond sw"); // Matches "Diamond Sword"
+ * }</pre>
+ * Changing the filter or the order re-paginates the pane from the first page that changed and renders only the visible page.
+ * The view owns the buttons of the pane, they must not be changed through the pane directly.
+ */
+public class PaneView {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final PagedPane pane;
+    private final List<Button> buttons = new ArrayList<>();
+    private final Map<Button, Integer> ordinals = new HashMap<>();
+    private final NavigableMap<String, BitSet> tokens = new TreeMap<>();
+    private final BitSet present = new BitSet();
+
+    private String query = "";
+    private Comparator<? super Button> comparator;
+    // Ordinals in the order of the comparator, only kept for the current one
+    private int[] order;
+    private BitSet matches;
+    // The buttons last given to the pane, in order
+    private List<Button> shown = List.of();
+
+    /**
+     * @param pane The pane to show the view in
+     * @param buttons All buttons of the view
+     */
+    public PaneView(@Nonnull PagedPane pane, @Nonnull Collection<? extends Button> buttons) {
+        Validate.notNull(pane, "Pane must not be null!");
+        Validate.notNull(buttons, "Buttons must not be null!");
+
+        this.pane = pane;
+        for (Button button : buttons) {
+            index(button);
+        }
+        this.matches = (BitSet) present.clone();
+        this.shown = getResult();
+        pane.setButtons(shown);
+    }
+
+    /**
+     * Shows only the buttons matching a query.
+     * Every word of the query must be the start of a word of the button label, ignoring case and colors.
+     *
+     * @param query The query. Null or blank shows all buttons.
+     */
+    public PaneView filter(@Nullable String query) {
+        String normalized = query == null ? "" : normalize(query).trim();
+        if (normalized.equals(this.query)) {
+            return this;
+        }
+
+        BitSet result = normalized.startsWith(this.query) ? (BitSet) matches.clone() : (BitSet) present.clone();
+        // Narrowing an existing query only needs to intersect the smaller, previous result
+        for (String word : SEPARATOR.split(normalized)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+
+            BitSet prefixed = new BitSet();
+            for (BitSet ordinals : tokens.subMap(word, true, word + Character.MAX_VALUE, true).values()) {
+                prefixed.or(ordinals);
+            }
+            result.and(prefixed);
+        }
+
+        this.query = normalized;
+        if (result.equals(matches)) {
+            // Typing often narrows the query without changing the result
+            return this;
+        }
+
+        this.matches = result;
+        List<Button> buttons = getResult();
+        // Back to the first page and re-paginated in a single render
+        pane.batch(() -> {
+            pane.selectPage(0);
+            apply(buttons);
+        });
+        return this;
+    }
+
+    /**
+     * @param comparator The order of the buttons. Null for the order they were added in.
+     */
+    public PaneView sort(@Nullable Comparator<? super Button> comparator) {
+        if (comparator != this.comparator) {
+            this.comparator = comparator;
+            this.order = null;
+        }
+        apply();
+        return this;
+    }
+
+    /**
+     * Adds a button to the view
+     *
+     * @param button The button
+     */
+    public void add(@Nonnull Button button) {
+        Validate.notNull(button, "Button must not be null!");
+
+        if (ordinals.containsKey(button)) {
+            return;
+        }
+
+        int ordinal = index(button);
+        // The order does not contain the new button
+        order = null;
+        if (matches(ordinal)) {
+            matches.set(ordinal);
+        }
+        apply();
+    }
+
+    /**
+     * Removes a button from the view
+     *
+     * @param button The button
+     */
+    public void remove(@Nonnull Button button) {
+        Validate.notNull(button, "Button must not be null!");
+
+        Integer ordinal = ordinals.get(button);
+        if (ordinal == null || !present.get(ordinal)) {
+            return;
+        }
+
+        // The ordinal is kept, so the index and orders stay valid
+        present.clear(ordinal);
+        matches.clear(ordinal);
+        ordinals.remove(button);
+        apply();
+    }
+
+    /**
+     * @return The buttons that are shown, in order
+     */
+    @Nonnull
+    public List<Button> getResult() {
+        List<Button> result = new ArrayList<>(matches.cardinality());
+        if (comparator == null) {
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                result.add(buttons.get(i));
+            }
+            return result;
+        }
+
+        if (order == null) {
+            order = order(comparator);
+        }
+        for (int ordinal : order) {
+            if (matches.get(ordinal)) {
+                result.add(buttons.get(ordinal));
+            }
+        }
+        return result;
+    }
+
+    @Nonnull
+    public String getQuery() {
+        return query;
+    }
+
+    @Nonnull
+    public PagedPane getPane() {
+        return pane;
+    }
+
+    private void apply() {
+        apply(getResult());
+    }
+
+    // Pages before the first changed button are kept as they are
+    private void apply(List<Button> result) {
+        int first = 0;
+        int common = Math.min(shown.size(), result.size());
+        while (first < common && shown.get(first).equals(result.get(first))) {
+            first++;
+        }
+        if (first == shown.size() && first == result.size()) {
+            return;
+        }
+
+        int capacity = pane.getPageSize() * 9;
+        int page = first / capacity;
+        pane.setButtons(page, result.subList(page * capacity, result.size()));
+        this.shown = result;
+    }
+
+    private int index(Button button) {
+        int ordinal = buttons.size();
+        buttons.add(button);
+        ordinals.put(button, ordinal);
+        present.set(ordinal);
+
+        for (String token : SEPARATOR.split(label(button))) {
+            if (!token.isEmpty()) {
+                tokens.computeIfAbsent(token, key -> new BitSet()).set(ordinal);
+            }
+        }
+        return ordinal;
+    }
+
+    // Whether a newly added button matches the current query
+    private boolean matches(int ordinal) {
+        for (String word : SEPARATOR.split(query)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+
+            boolean found = false;
+            for (BitSet ordinals : tokens.subMap(word, true, word + Character.MAX_VALUE, true).values()) {
+                if (ordinals.get(ordinal)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int[] order(Comparator<? super Button> comparator) {
+        return present.stream()
+                .boxed()
+                .sorted((a, b) -> comparator.compare(buttons.get(a), buttons.get(b)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    private static String label(Button button) {
+        ItemStack item = button.getItemStack();
+        if (item == null) {
+            return "";
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null && meta.hasDisplayName()) {
+            return normalize(meta.getDisplayName());
+        }
+        return normalize(item.getType().name().replace('_', ' '));
+    }
+
+    private static String normalize(String input) {
+        String stripped = ChatColor.stripColor(ChatColor.translateAlternateColorCodes('&', input));
+        return stripped.toLowerCase(Locale.ROOT);
+    }
+
+}
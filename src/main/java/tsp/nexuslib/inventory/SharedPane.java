@@ -0,0 +1,75 @@
+package tsp.nexuslib.inventory;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A read-only pane rendered from a {@link PaneTemplate}.
+ * All viewers are shown the same inventory, so its cost does not grow with the amount of viewers.
+ * {@link DynamicButton}'s of the template are updated while the pane is open.
+ *
+ * @see PaneTemplate#share()
+ */
+public class SharedPane extends AbstractPane {
+
+    private final PaneTemplate template;
+    // The template buttons by slot, used for clicks and dynamic updates
+    private final Page page;
+
+    public SharedPane(@Nonnull PaneTemplate template) {
+        super(validate(template).getRows(), template.getTitle());
+
+        this.template = template;
+        this.page = new Page(template.getRows());
+        for (int i = 0; i < template.getSize(); i++) {
+            Button button = template.getButton(i);
+            if (button != null) {
+                page.setButton(i, button);
+            }
+        }
+        reRender();
+    }
+
+    private static PaneTemplate validate(PaneTemplate template) {
+        Validate.notNull(template, "Template must not be null!");
+        return template;
+    }
+
+    @Override
+    public void onClick(InventoryClickEvent event) {
+        Validate.notNull(event, "InventoryClickEvent must not be null!");
+
+        event.setCancelled(true);
+        page.handleClick(event);
+    }
+
+    /**
+     * Renders the template contents. Only dynamic buttons change, so later renders push just their slots.
+     */
+    @Override
+    public void reRender() {
+        ItemStack[] contents = new ItemStack[getInventory().getSize()];
+        template.copyContents(contents);
+        push(contents);
+    }
+
+    @Nonnull
+    @Override
+    protected Page getVisiblePage() {
+        return page;
+    }
+
+    @Override
+    public int getButtonCount() {
+        return page.size();
+    }
+
+    @Nonnull
+    public PaneTemplate getTemplate() {
+        return template;
+    }
+
+}
@@ -0,0 +1,25 @@
+package tsp.nexuslib.inventory.virtual;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A click in a {@link VirtualPane}. There is no server side inventory, so there is no {@link org.bukkit.event.inventory.InventoryClickEvent}.
+ *
+ * @param player The player that clicked
+ * @param pane The pane
+ * @param slot The clicked slot of the pane
+ * @param click The type of the click
+ */
+public record VirtualClick(@Nonnull Player player, @Nonnull VirtualPane pane, int slot, @Nonnull ClickType click) {
+
+    /**
+     * Closes the pane for the player
+     */
+    public void close() {
+        pane.close(player);
+    }
+
+}
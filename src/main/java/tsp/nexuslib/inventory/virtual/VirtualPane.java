@@ -0,0 +1,229 @@
+package tsp.nexuslib.inventory.virtual;
+
+import net.minecraft.core.NonNullList;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.inventory.MenuType;
+import org.bukkit.craftbukkit.inventory.CraftItemStack;
+import org.bukkit.craftbukkit.util.CraftChatMessage;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import tsp.nexuslib.inventory.Button;
+import tsp.nexuslib.inventory.PaneTemplate;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A pane that only exists on the client.
+ * There is no server side inventory or container: the window and its contents are sent as packets,
+ * and clicks are read from the packets and dispatched to {@link Button#onVirtualClick(VirtualClick)}.
+ * There is no {@link org.bukkit.event.inventory.InventoryClickEvent}, so the regular action of a button is never invoked:
+ * use {@link Button#virtual(ItemStack, java.util.function.Consumer)} or {@link Button#setVirtualAction(java.util.function.Consumer)}.
+ * Buttons without a virtual action are shown but do nothing, a warning is logged when they are added.
+ * Meant for read-only menus shown to many players. Requires {@link VirtualPanes#init(org.bukkit.plugin.java.JavaPlugin)}.
+ * <p>
+ * Buttons may be changed from any thread, the contents are always sent from the thread owning the viewer.
+ */
+public class VirtualPane {
+
+    private static final MenuType<?>[] MENU_TYPES = {
+            MenuType.GENERIC_9x1, MenuType.GENERIC_9x2, MenuType.GENERIC_9x3,
+            MenuType.GENERIC_9x4, MenuType.GENERIC_9x5, MenuType.GENERIC_9x6
+    };
+
+    private final int rows;
+    private final String title;
+    private final AtomicReferenceArray<Button> buttons;
+    private final Set<UUID> viewers = ConcurrentHashMap.newKeySet();
+    // Converted once and never modified, shared by every viewer. Null after a change.
+    private volatile net.minecraft.world.item.ItemStack[] items;
+    private volatile Component titleComponent;
+
+    public VirtualPane(int rows, @Nonnull String title) {
+        Validate.notNull(title, "title can not be null!");
+        if (rows < 1 || rows > 6) {
+            throw new IllegalArgumentException("Rows must be in [1 6], got " + rows);
+        }
+
+        this.rows = rows;
+        this.title = title;
+        this.buttons = new AtomicReferenceArray<>(rows * 9);
+    }
+
+    /**
+     * @param template The template to show
+     * @return A virtual pane with the buttons of the template
+     */
+    @Nonnull
+    public static VirtualPane of(@Nonnull PaneTemplate template) {
+        Validate.notNull(template, "Template must not be null!");
+
+        VirtualPane pane = new VirtualPane(template.getRows(), template.getTitle());
+        int inactive = 0;
+        for (int i = 0; i < template.getSize(); i++) {
+            Button button = template.getButton(i);
+            pane.buttons.set(i, button);
+            if (button != null && !button.hasVirtualAction()) {
+                inactive++;
+            }
+        }
+        if (inactive > 0) {
+            VirtualPanes.getLogger().warning(inactive + " buttons of virtual pane " + template.getTitle() + " have no virtual action, clicking them does nothing");
+        }
+        return pane;
+    }
+
+    /**
+     * Sets a button and resends the contents to all viewers
+     *
+     * @param slot The slot
+     * @param button The button. May be null to clear the slot.
+     */
+    public void setButton(int slot, @Nullable Button button) {
+        if (slot < 0 || slot >= buttons.length()) {
+            throw new IllegalArgumentException("Slot must be in [0 " + buttons.length() + "), got " + slot);
+        }
+
+        if (button != null && !button.hasVirtualAction()) {
+            VirtualPanes.getLogger().warning("Button in slot " + slot + " of virtual pane " + title + " has no virtual action, clicking it does nothing");
+        }
+
+        buttons.set(slot, button);
+        update();
+    }
+
+    /**
+     * @param slot The slot
+     * @return The button in the slot, or null if the slot is empty or outside of the pane
+     */
+    @Nullable
+    public Button getButton(int slot) {
+        if (slot < 0 || slot >= buttons.length()) {
+            return null;
+        }
+
+        return buttons.get(slot);
+    }
+
+    /**
+     * @param player The player to open it for
+     */
+    public void open(@Nonnull Player player) {
+        Validate.notNull(player, "Player must not be null!");
+
+        VirtualPanes.open(player, this);
+    }
+
+    /**
+     * @param player The player to close it for
+     */
+    public void close(@Nonnull Player player) {
+        Validate.notNull(player, "Player must not be null!");
+
+        VirtualPanes.close(player, this);
+    }
+
+    /**
+     * Resends the contents to all viewers, e.g. after a button item changed.
+     * May be called from any thread, every viewer is updated on its own thread.
+     */
+    public void update() {
+        invalidate();
+        for (UUID viewer : viewers) {
+            VirtualPanes.sync(viewer);
+        }
+    }
+
+    /**
+     * @return The players viewing this pane
+     */
+    @Nonnull
+    public Set<UUID> getViewers() {
+        return Collections.unmodifiableSet(viewers);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getSize() {
+        return buttons.length();
+    }
+
+    @Nonnull
+    public String getTitle() {
+        return title;
+    }
+
+    Set<UUID> viewers() {
+        return viewers;
+    }
+
+    MenuType<?> getMenuType() {
+        return MENU_TYPES[rows - 1];
+    }
+
+    Component getTitleComponent() {
+        if (titleComponent == null) {
+            titleComponent = CraftChatMessage.fromString(title)[0];
+        }
+
+        return titleComponent;
+    }
+
+    // Synchronized with invalidate(), so a conversion racing a change can not publish stale items after it
+    private synchronized void invalidate() {
+        items = null;
+    }
+
+    private synchronized net.minecraft.world.item.ItemStack[] convert() {
+        net.minecraft.world.item.ItemStack[] converted = items;
+        if (converted != null) {
+            return converted;
+        }
+
+        converted = new net.minecraft.world.item.ItemStack[buttons.length()];
+        for (int i = 0; i < converted.length; i++) {
+            Button button = buttons.get(i);
+            ItemStack item = button != null ? button.getItemStack() : null;
+            converted[i] = item != null ? CraftItemStack.asNMSCopy(item) : net.minecraft.world.item.ItemStack.EMPTY;
+        }
+        items = converted;
+        return converted;
+    }
+
+    /**
+     * Builds the window contents: the pane followed by the main inventory and the hotbar of the player.
+     * Must be called on the thread owning the player, it reads their inventory.
+     */
+    NonNullList<net.minecraft.world.item.ItemStack> contents(ServerPlayer player) {
+        // Read once, a concurrent change publishes a new array instead of modifying this one
+        net.minecraft.world.item.ItemStack[] top = items;
+        if (top == null) {
+            top = convert();
+        }
+
+        NonNullList<net.minecraft.world.item.ItemStack> contents = NonNullList.withSize(top.length + 36, net.minecraft.world.item.ItemStack.EMPTY);
+        for (int i = 0; i < top.length; i++) {
+            contents.set(i, top[i]);
+        }
+
+        Inventory inventory = player.getInventory();
+        for (int i = 9; i < 36; i++) {
+            contents.set(top.length + i - 9, inventory.getItem(i));
+        }
+        for (int i = 0; i < 9; i++) {
+            contents.set(top.length + 27 + i, inventory.getItem(i));
+        }
+        return contents;
+    }
+
+}
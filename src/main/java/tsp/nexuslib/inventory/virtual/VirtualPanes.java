@@ -0,0 +1,304 @@
+package tsp.nexuslib.inventory.virtual;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import net.minecraft.network.protocol.game.ClientboundContainerClosePacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetContentPacket;
+import net.minecraft.network.protocol.game.ClientboundOpenScreenPacket;
+import net.minecraft.network.protocol.game.ServerboundContainerClickPacket;
+import net.minecraft.network.protocol.game.ServerboundContainerClosePacket;
+import net.minecraft.server.level.ServerPlayer;
+import org.bukkit.Bukkit;
+import org.bukkit.craftbukkit.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import tsp.nexuslib.inventory.Button;
+import tsp.nexuslib.inventory.ClickLimiter;
+import tsp.nexuslib.task.TaskBackends;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends {@link VirtualPane}'s to players and reads their clicks from the connection.
+ * A packet handler is added to the connection of a player the first time a virtual pane is opened for them.
+ */
+public final class VirtualPanes {
+
+    /**
+     * Container id of virtual windows. Vanilla only uses 1 - 100, so it never collides with a real container.
+     * Checked against ServerPlayer#nextContainerCounter of Paper 1.20.6 (mojang mapped), recheck when updating.
+     */
+    public static final int CONTAINER_ID = 120;
+    private static final String HANDLER = "nexuslib_virtual_pane";
+
+    private static final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+    private static JavaPlugin plugin;
+    private static ClickLimiter limiter;
+
+    private VirtualPanes() {}
+
+    // Falls back to the server logger, panes may be built before init
+    static Logger getLogger() {
+        return plugin != null ? plugin.getLogger() : Bukkit.getLogger();
+    }
+
+    /**
+     * Required before opening any virtual pane
+     *
+     * @param plugin The plugin
+     */
+    public static void init(@Nonnull JavaPlugin plugin) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+
+        VirtualPanes.plugin = plugin;
+        plugin.getServer().getPluginManager().registerEvents(new SessionListener(), plugin);
+    }
+
+    /**
+     * Closes all virtual panes and removes the packet handlers, e.g. when the plugin is disabled
+     */
+    public static void shutdown() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Session session = sessions.get(player.getUniqueId());
+            if (session != null) {
+                close(player, session.pane);
+            }
+
+            Channel channel = channel(((CraftPlayer) player).getHandle());
+            channel.eventLoop().execute(() -> {
+                if (channel.pipeline().get(HANDLER) != null) {
+                    channel.pipeline().remove(HANDLER);
+                }
+            });
+        }
+        sessions.clear();
+    }
+
+    /**
+     * @param limiter Limits how fast viewers can click in virtual panes. May be null for no limit.
+     */
+    public static void setClickLimiter(@Nullable ClickLimiter limiter) {
+        VirtualPanes.limiter = limiter;
+    }
+
+    /**
+     * @param player The player
+     * @return The virtual pane the player has open, or null if none
+     */
+    @Nullable
+    public static VirtualPane getOpen(@Nonnull Player player) {
+        Session session = sessions.get(player.getUniqueId());
+        return session != null ? session.pane : null;
+    }
+
+    static void open(Player player, VirtualPane pane) {
+        if (plugin == null) {
+            throw new IllegalStateException("VirtualPanes are not initialized!");
+        }
+
+        // The server must not think a real container is still open
+        if (player.getOpenInventory().getType() != InventoryType.CRAFTING) {
+            player.closeInventory();
+        }
+
+        ServerPlayer handle = ((CraftPlayer) player).getHandle();
+        inject(player.getUniqueId(), channel(handle));
+
+        Session session = new Session(pane);
+        Session previous = sessions.put(player.getUniqueId(), session);
+        if (previous != null) {
+            previous.pane.viewers().remove(player.getUniqueId());
+        }
+        pane.viewers().add(player.getUniqueId());
+
+        handle.connection.send(new ClientboundOpenScreenPacket(CONTAINER_ID, pane.getMenuType(), pane.getTitleComponent()));
+        sync(handle, session);
+    }
+
+    static void close(Player player, VirtualPane pane) {
+        Session session = sessions.get(player.getUniqueId());
+        if (session == null || session.pane != pane || !sessions.remove(player.getUniqueId(), session)) {
+            return;
+        }
+
+        pane.viewers().remove(player.getUniqueId());
+        ServerPlayer handle = ((CraftPlayer) player).getHandle();
+        handle.connection.send(new ClientboundContainerClosePacket(CONTAINER_ID));
+        // Undo anything the client predicted in its own inventory
+        handle.inventoryMenu.sendAllDataToRemote();
+    }
+
+    // May be called from any thread, the contents include the player inventory which is only safe to read on its owning thread
+    static void sync(UUID uuid) {
+        Player player = Bukkit.getPlayer(uuid);
+        if (player == null || !sessions.containsKey(uuid)) {
+            return;
+        }
+
+        if (Bukkit.isOwnedByCurrentRegion(player)) {
+            syncNow(uuid, player);
+        } else {
+            TaskBackends.get().runFor(plugin, player, () -> syncNow(uuid, player), -1, -1);
+        }
+    }
+
+    private static void syncNow(UUID uuid, Player player) {
+        Session session = sessions.get(uuid);
+        if (session != null && player.isOnline()) {
+            sync(((CraftPlayer) player).getHandle(), session);
+        }
+    }
+
+    private static void sync(ServerPlayer handle, Session session) {
+        handle.connection.send(new ClientboundContainerSetContentPacket(CONTAINER_ID, session.nextStateId(), session.pane.contents(handle), net.minecraft.world.item.ItemStack.EMPTY));
+    }
+
+    // Connection#channel via ServerCommonPacketListenerImpl#connection, checked against Paper 1.20.6 (mojang mapped)
+    private static Channel channel(ServerPlayer handle) {
+        return handle.connection.connection.channel;
+    }
+
+    private static void inject(UUID uuid, Channel channel) {
+        if (channel.pipeline().get(HANDLER) != null) {
+            return;
+        }
+
+        try {
+            channel.pipeline().addBefore("packet_handler", HANDLER, new PacketHandler(uuid));
+        } catch (IllegalArgumentException | NoSuchElementException ex) {
+            // Added concurrently or the player is disconnecting
+            plugin.getLogger().log(Level.FINE, "Could not add virtual pane handler for " + uuid, ex);
+        }
+    }
+
+    // Called on the thread of the player
+    private static void click(UUID uuid, Session session, int slot, int button, net.minecraft.world.inventory.ClickType type) {
+        Player player = Bukkit.getPlayer(uuid);
+        if (player == null || sessions.get(uuid) != session) {
+            return;
+        }
+
+        ClickType click = toBukkit(type, button);
+        if (limiter == null || limiter.tryClick(uuid, click)) {
+            Button target = session.pane.getButton(slot);
+            if (target != null) {
+                target.onVirtualClick(new VirtualClick(player, session.pane, slot, click));
+            }
+        }
+
+        // The client already moved the item, put everything back
+        if (sessions.get(uuid) == session) {
+            ServerPlayer handle = ((CraftPlayer) player).getHandle();
+            sync(handle, session);
+            handle.inventoryMenu.sendAllDataToRemote();
+        }
+    }
+
+    private static ClickType toBukkit(net.minecraft.world.inventory.ClickType type, int button) {
+        return switch (type) {
+            case PICKUP -> button == 0 ? ClickType.LEFT : ClickType.RIGHT;
+            case QUICK_MOVE -> button == 0 ? ClickType.SHIFT_LEFT : ClickType.SHIFT_RIGHT;
+            case SWAP -> button == 40 ? ClickType.SWAP_OFFHAND : ClickType.NUMBER_KEY;
+            case CLONE -> ClickType.MIDDLE;
+            case THROW -> button == 0 ? ClickType.DROP : ClickType.CONTROL_DROP;
+            case PICKUP_ALL -> ClickType.DOUBLE_CLICK;
+            default -> ClickType.UNKNOWN;
+        };
+    }
+
+    /**
+     * A virtual pane open for a single player
+     */
+    private static final class Session {
+
+        private final VirtualPane pane;
+        private int stateId;
+
+        private Session(VirtualPane pane) {
+            this.pane = pane;
+        }
+
+        private synchronized int nextStateId() {
+            stateId = stateId + 1 & 32767;
+            return stateId;
+        }
+
+    }
+
+    /**
+     * Reads the packets of virtual windows before the server handles them
+     */
+    private static final class PacketHandler extends ChannelDuplexHandler {
+
+        private final UUID uuid;
+
+        private PacketHandler(UUID uuid) {
+            this.uuid = uuid;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (msg instanceof ServerboundContainerClickPacket packet && packet.getContainerId() == CONTAINER_ID) {
+                Session session = sessions.get(uuid);
+                Player player = Bukkit.getPlayer(uuid);
+                if (session != null && player != null) {
+                    int slot = packet.getSlotNum();
+                    int button = packet.getButtonNum();
+                    net.minecraft.world.inventory.ClickType type = packet.getClickType();
+                    TaskBackends.get().runFor(plugin, player, () -> click(uuid, session, slot, button, type), -1, -1);
+                    return;
+                }
+            } else if (msg instanceof ServerboundContainerClosePacket packet && packet.getContainerId() == CONTAINER_ID) {
+                Session session = sessions.remove(uuid);
+                if (session != null) {
+                    session.pane.viewers().remove(uuid);
+                    return;
+                }
+            }
+
+            super.channelRead(ctx, msg);
+        }
+
+    }
+
+    /**
+     * Ends sessions that were replaced by a real inventory or whose player quit
+     */
+    private static final class SessionListener implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onOpen(InventoryOpenEvent event) {
+            // The client replaced the virtual window
+            Session session = sessions.remove(event.getPlayer().getUniqueId());
+            if (session != null) {
+                session.pane.viewers().remove(event.getPlayer().getUniqueId());
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            Session session = sessions.remove(event.getPlayer().getUniqueId());
+            if (session != null) {
+                session.pane.viewers().remove(event.getPlayer().getUniqueId());
+            }
+        }
+
+    }
+
+}
@@ -47,4 +47,18 @@ public final class ServerUtils {
         }
     }
 
+    /**
+     * Check if the server is running Folia (regionized threading)
+     *
+     * @return Whether the server is running folia
+     */
+    public static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
 }
@@ -0,0 +1,243 @@
+package tsp.nexuslib.task;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+
+/**
+ * Schedules repeating {@link Task}'s with an interval that adapts to the server load.
+ * While the recent MSPT is above the target, intervals are stretched towards {@link Task#getMaxRepeatInterval()}
+ * and {@link TaskPriority#LOW} runs are skipped once the server is overloaded.
+ * Intervals return to {@link Task#getMinRepeatInterval()} when the load drops.
+ * <p>
+ * All tasks share a single driver task which ticks once per server tick.
+ */
+public class AdaptiveScheduler implements Runnable {
+
+    private final JavaPlugin plugin;
+    private final DoubleSupplier msptSource;
+    private final List<AdaptiveTask> tasks = new CopyOnWriteArrayList<>();
+
+    private volatile double targetMspt = 40;
+    private volatile double criticalMspt = 60;
+    private volatile double skipLoad = 0.5;
+
+    private BukkitTask driver;
+    // Advanced by the driver only, read by schedule() from any thread
+    private volatile long tick;
+    private volatile double load;
+
+    /**
+     * @param plugin The plugin owning the scheduled tasks
+     * @param msptSource Source of the recent average milliseconds per tick
+     */
+    public AdaptiveScheduler(@Nonnull JavaPlugin plugin, @Nonnull DoubleSupplier msptSource) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+        Validate.notNull(msptSource, "MSPT source must not be null!");
+
+        this.plugin = plugin;
+        this.msptSource = msptSource;
+    }
+
+    /**
+     * Creates a scheduler using the servers average tick time.
+     *
+     * @param plugin The plugin owning the scheduled tasks
+     */
+    public AdaptiveScheduler(@Nonnull JavaPlugin plugin) {
+        this(plugin, Bukkit::getAverageTickTime);
+    }
+
+    /**
+     * Schedules a repeating {@link Task}
+     *
+     * @param task The task to schedule
+     * @return Handle of the scheduled task
+     */
+    @Nonnull
+    public AdaptiveTask schedule(@Nonnull Task task) {
+        Validate.notNull(task, "Task must not be null!");
+
+        long min = Task.toTicks(task.getMinRepeatInterval());
+        long max = Task.toTicks(task.getMaxRepeatInterval());
+        Validate.isTrue(min > 0, "Adaptive tasks must repeat, got minimum interval of " + min + " ticks");
+        Validate.isTrue(max >= min, "Maximum interval must be >= minimum interval!");
+
+        AdaptiveTask result = new AdaptiveTask(task, TaskProfiler.wrap(plugin, task.getTaskName(), task), min, max);
+        result.nextRun = tick + Math.max(0, task.getDelayTicks());
+        tasks.add(result);
+        start();
+        return result;
+    }
+
+    @Override
+    public void run() {
+        tick++;
+        load = computeLoad(msptSource.getAsDouble());
+
+        for (AdaptiveTask task : tasks) {
+            if (task.cancelled) {
+                tasks.remove(task);
+                continue;
+            }
+            if (tick < task.nextRun) {
+                continue;
+            }
+
+            TaskPriority priority = task.task.getPriority();
+            task.interval = task.min + Math.round((task.max - task.min) * priority.stretch(load));
+            task.nextRun = tick + task.interval;
+
+            if (priority == TaskPriority.LOW && load >= skipLoad) {
+                task.skipped++;
+                continue;
+            }
+
+            // A failing task must not stop the tasks after it from running
+            try {
+                if (task.task.isAsync()) {
+                    TaskBackends.get().runAsync(plugin, task.runnable, -1, -1);
+                } else {
+                    task.runnable.run();
+                }
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.SEVERE, "Adaptive task " + task.task.getTaskName() + " threw an exception", ex);
+            }
+        }
+
+        if (tasks.isEmpty()) {
+            stop();
+        }
+    }
+
+    /**
+     * Cancels all tasks and stops the driver.
+     */
+    public void cancelAll() {
+        for (AdaptiveTask task : tasks) {
+            task.cancel();
+        }
+        tasks.clear();
+        stop();
+    }
+
+    private double computeLoad(double mspt) {
+        if (mspt <= targetMspt) {
+            return 0;
+        }
+
+        return Math.min(1, (mspt - targetMspt) / (criticalMspt - targetMspt));
+    }
+
+    private synchronized void start() {
+        if (driver == null || driver.isCancelled()) {
+            driver = TaskBackends.get().run(plugin, this, 1, 1);
+        }
+    }
+
+    private synchronized void stop() {
+        if (driver != null) {
+            driver.cancel();
+            driver = null;
+        }
+    }
+
+    /**
+     * Sets the MSPT thresholds.
+     *
+     * @param target MSPT above which intervals start stretching
+     * @param critical MSPT at which intervals are fully stretched
+     */
+    public void setThresholds(double target, double critical) {
+        Validate.isTrue(critical > target, "Critical MSPT must be greater than the target MSPT!");
+
+        this.targetMspt = target;
+        this.criticalMspt = critical;
+    }
+
+    /**
+     * Sets the load (0 - 1) from which {@link TaskPriority#LOW} runs are skipped.
+     *
+     * @param skipLoad The load factor
+     */
+    public void setSkipLoad(double skipLoad) {
+        this.skipLoad = skipLoad;
+    }
+
+    public double getTargetMspt() {
+        return targetMspt;
+    }
+
+    public double getCriticalMspt() {
+        return criticalMspt;
+    }
+
+    /**
+     * @return The load factor (0 - 1) computed on the last tick
+     */
+    public double getLoad() {
+        return load;
+    }
+
+    public List<AdaptiveTask> getTasks() {
+        return List.copyOf(tasks);
+    }
+
+    /**
+     * A {@link Task} scheduled through an {@link AdaptiveScheduler}
+     */
+    public static final class AdaptiveTask {
+
+        private final Task task;
+        private final Runnable runnable;
+        private final long min;
+        private final long max;
+        private volatile boolean cancelled;
+        private volatile long interval;
+        private long nextRun;
+        private volatile long skipped;
+
+        private AdaptiveTask(Task task, Runnable runnable, long min, long max) {
+            this.task = task;
+            this.runnable = runnable;
+            this.min = min;
+            this.max = max;
+            this.interval = min;
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public Task getTask() {
+            return task;
+        }
+
+        /**
+         * @return The interval in ticks used for the last run
+         */
+        public long getCurrentInterval() {
+            return interval;
+        }
+
+        /**
+         * @return Amount of runs skipped due to load
+         */
+        public long getSkipped() {
+            return skipped;
+        }
+
+    }
+
+}
@@ -0,0 +1,294 @@
+package tsp.nexuslib.task;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Processes a large collection in parallel on a bounded {@link ForkJoinPool}.
+ * Every element is mapped to a partial result, partial results are reduced in parallel
+ * and the final result is delivered on the main thread.
+ * <pre>{@code
+ * BatchTask.of(players, 0L, PlayerData::getKills, Long::sum)
+ *         .grainSize(512)
+ *         .onProgress(progress -> bar.setProgress(progress))
+ *         .onComplete(total -> broadcast("Total kills: " + total))
+ *         .submit(plugin);
+ * }</pre>
+ *
+ * @param <T> Type of the elements
+ * @param <R> Type of the result
+ */
+public class BatchTask<T, R> {
+
+    // One default pool per plugin, shut down when the plugin disables so its threads do not outlive a reload
+    private static final Map<JavaPlugin, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private final List<T> items;
+    private final R identity;
+    private final Function<? super T, ? extends R> mapper;
+    private final BinaryOperator<R> reducer;
+
+    private int grainSize = 256;
+    private ForkJoinPool pool;
+    private long progressInterval = 20;
+    private Consumer<Double> progress;
+    private Consumer<R> completion;
+    private Consumer<Throwable> failure;
+
+    private BatchTask(Collection<? extends T> items, R identity, Function<? super T, ? extends R> mapper, BinaryOperator<R> reducer) {
+        this.items = new ArrayList<>(items);
+        this.identity = identity;
+        this.mapper = mapper;
+        this.reducer = reducer;
+    }
+
+    /**
+     * Creates a new batch task
+     *
+     * @param items The elements to process. Copied on creation.
+     * @param identity The identity value of the reducer
+     * @param mapper Maps a single element to a partial result. Called off the main thread!
+     * @param reducer Combines two partial results. Must be associative. Called off the main thread!
+     * @return New batch task
+     */
+    @Nonnull
+    public static <T, R> BatchTask<T, R> of(@Nonnull Collection<? extends T> items, R identity, @Nonnull Function<? super T, ? extends R> mapper, @Nonnull BinaryOperator<R> reducer) {
+        Validate.notNull(items, "Items must not be null!");
+        Validate.notNull(mapper, "Mapper must not be null!");
+        Validate.notNull(reducer, "Reducer must not be null!");
+
+        return new BatchTask<>(items, identity, mapper, reducer);
+    }
+
+    /**
+     * Shuts down the default pool of a plugin, cancelling the batches still running on it. Called when the plugin disables.
+     *
+     * @param plugin The plugin
+     */
+    public static void shutdown(@Nonnull JavaPlugin plugin) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+
+        ForkJoinPool pool = POOLS.remove(plugin);
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @param grainSize Amount of elements processed sequentially by a single fork
+     */
+    public BatchTask<T, R> grainSize(int grainSize) {
+        Validate.isTrue(grainSize > 0, "Grain size must be > 0, got " + grainSize);
+
+        this.grainSize = grainSize;
+        return this;
+    }
+
+    /**
+     * @param pool The pool to process the elements on. Defaults to a pool of the plugin sized to the available processors - 1.
+     *             A custom pool is not shut down by {@link #shutdown(JavaPlugin)}.
+     */
+    public BatchTask<T, R> pool(@Nonnull ForkJoinPool pool) {
+        Validate.notNull(pool, "Pool must not be null!");
+
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * @param progress Called on the main thread with the processed fraction (0 - 1)
+     * @param intervalTicks Ticks between progress updates
+     */
+    public BatchTask<T, R> onProgress(@Nullable Consumer<Double> progress, long intervalTicks) {
+        Validate.isTrue(intervalTicks > 0, "Progress interval must be > 0, got " + intervalTicks);
+
+        this.progress = progress;
+        this.progressInterval = intervalTicks;
+        return this;
+    }
+
+    public BatchTask<T, R> onProgress(@Nullable Consumer<Double> progress) {
+        return onProgress(progress, progressInterval);
+    }
+
+    /**
+     * @param completion Called on the main thread with the final result
+     */
+    public BatchTask<T, R> onComplete(@Nullable Consumer<R> completion) {
+        this.completion = completion;
+        return this;
+    }
+
+    /**
+     * @param failure Called on the main thread if the mapper or reducer throws. Not called on cancellation.
+     */
+    public BatchTask<T, R> onFailure(@Nullable Consumer<Throwable> failure) {
+        this.failure = failure;
+        return this;
+    }
+
+    /**
+     * Starts processing
+     *
+     * @param plugin The plugin used for main thread delivery
+     * @return Handle of the running batch
+     */
+    @Nonnull
+    public Handle<R> submit(@Nonnull JavaPlugin plugin) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+
+        Handle<R> handle = new Handle<>(items.size());
+        if (progress != null) {
+            handle.progressTask = TaskBackends.get().run(plugin, () -> {
+                int processed = handle.processed.get();
+                if (processed != handle.reported) {
+                    handle.reported = processed;
+                    progress.accept(handle.getProgress());
+                }
+            }, progressInterval, progressInterval);
+        }
+
+        handle.future.whenComplete((result, ex) -> {
+            if (!plugin.isEnabled()) {
+                return;
+            }
+
+            TaskBackends.get().run(plugin, () -> {
+                if (handle.progressTask != null) {
+                    handle.progressTask.cancel();
+                }
+                if (ex == null) {
+                    if (progress != null && handle.reported != handle.size) {
+                        progress.accept(1D);
+                    }
+                    if (completion != null) {
+                        completion.accept(result);
+                    }
+                } else {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (failure != null && !(cause instanceof CancellationException)) {
+                        failure.accept(cause);
+                    }
+                }
+            }, -1, -1);
+        });
+
+        ForkJoinPool pool = this.pool != null ? this.pool
+                : POOLS.computeIfAbsent(plugin, key -> new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)));
+        pool.execute(() -> {
+            try {
+                handle.future.complete(new Chunk(handle, 0, items.size()).invoke());
+            } catch (Throwable ex) {
+                handle.future.completeExceptionally(ex);
+            }
+        });
+
+        return handle;
+    }
+
+    /**
+     * A single fork of the batch, covering the elements from (inclusive) to (exclusive)
+     */
+    private final class Chunk extends RecursiveTask<R> {
+
+        private final Handle<R> handle;
+        private final int from;
+        private final int to;
+
+        private Chunk(Handle<R> handle, int from, int to) {
+            this.handle = handle;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected R compute() {
+            if (handle.cancelled.get()) {
+                throw new CancellationException("Batch was cancelled");
+            }
+
+            if (to - from <= grainSize) {
+                R result = identity;
+                for (int i = from; i < to; i++) {
+                    result = reducer.apply(result, mapper.apply(items.get(i)));
+                }
+                handle.processed.addAndGet(to - from);
+                return result;
+            }
+
+            int middle = (from + to) >>> 1;
+            Chunk left = new Chunk(handle, from, middle);
+            left.fork();
+            R right = new Chunk(handle, middle, to).compute();
+            return reducer.apply(left.join(), right);
+        }
+
+    }
+
+    /**
+     * Handle of a submitted {@link BatchTask}
+     *
+     * @param <R> Type of the result
+     */
+    public static final class Handle<R> {
+
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final int size;
+        private BukkitTask progressTask;
+        private int reported;
+
+        private Handle(int size) {
+            this.size = size;
+        }
+
+        /**
+         * Cancels the batch. Forks that are already running finish their current chunk.
+         */
+        public void cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                future.completeExceptionally(new CancellationException("Batch was cancelled"));
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        /**
+         * @return The processed fraction (0 - 1)
+         */
+        public double getProgress() {
+            return size == 0 ? 1 : processed.get() / (double) size;
+        }
+
+        /**
+         * @return Future of the result. Completes off the main thread!
+         */
+        public CompletableFuture<R> getFuture() {
+            return future;
+        }
+
+    }
+
+}
@@ -0,0 +1,48 @@
+package tsp.nexuslib.task;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import javax.annotation.Nonnull;
+
+/**
+ * {@link TaskBackend} using the {@link BukkitScheduler}
+ */
+public class BukkitTaskBackend implements TaskBackend {
+
+    @Nonnull
+    @Override
+    public BukkitTask run(@Nonnull JavaPlugin plugin, @Nonnull Runnable task, long delay, long period) {
+        BukkitScheduler scheduler = plugin.getServer().getScheduler();
+
+        if (period > -1) {
+            return scheduler.runTaskTimer(plugin, task, Math.max(0, delay), period);
+        } else if (delay > -1) {
+            return scheduler.runTaskLater(plugin, task, delay);
+        } else {
+            return scheduler.runTask(plugin, task);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public BukkitTask runAsync(@Nonnull JavaPlugin plugin, @Nonnull Runnable task, long delay, long period) {
+        BukkitScheduler scheduler = plugin.getServer().getScheduler();
+
+        if (period > -1) {
+            return scheduler.runTaskTimerAsynchronously(plugin, task, Math.max(0, delay), period);
+        } else if (delay > -1) {
+            return scheduler.runTaskLaterAsynchronously(plugin, task, delay);
+        } else {
+            return scheduler.runTaskAsynchronously(plugin, task);
+        }
+    }
+
+    @Override
+    public boolean isActive(@Nonnull BukkitTask task) {
+        BukkitScheduler scheduler = task.getOwner().getServer().getScheduler();
+        return !task.isCancelled() && (scheduler.isQueued(task.getTaskId()) || scheduler.isCurrentlyRunning(task.getTaskId()));
+    }
+
+}
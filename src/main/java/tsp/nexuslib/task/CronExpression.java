@@ -0,0 +1,183 @@
+package tsp.nexuslib.task;
+
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * A standard 5 field cron expression: minute hour day-of-month month day-of-week.
+ * Supports lists ({@code 1,2}), ranges ({@code 1-5}), steps ({@code *}{@code /15}), month and day names
+ * and the {@code @yearly @monthly @weekly @daily @hourly} macros.
+ * As in cron, if both day fields are restricted a day matches if either matches.
+ */
+public final class CronExpression implements WallClockSchedule {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DAYS = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+    private static final int MAX_YEARS = 5;
+
+    private final String expression;
+    private final BitSet minutes;
+    private final BitSet hours;
+    private final BitSet daysOfMonth;
+    private final BitSet months;
+    private final BitSet daysOfWeek;
+    private final boolean anyDayOfMonth;
+    private final boolean anyDayOfWeek;
+
+    private CronExpression(String expression, String[] fields) {
+        this.expression = expression;
+        this.minutes = parseField(fields[0], 0, 59, null);
+        this.hours = parseField(fields[1], 0, 23, null);
+        this.daysOfMonth = parseField(fields[2], 1, 31, null);
+        this.months = parseField(fields[3], 1, 12, MONTHS);
+        this.daysOfWeek = parseField(fields[4], 0, 7, DAYS);
+        if (daysOfWeek.get(7)) {
+            daysOfWeek.set(0);
+        }
+        this.anyDayOfMonth = fields[2].startsWith("*");
+        this.anyDayOfWeek = fields[4].startsWith("*");
+    }
+
+    /**
+     * Parse a cron expression
+     *
+     * @param expression The expression
+     * @return Parsed expression
+     * @throws IllegalArgumentException If the expression is invalid
+     */
+    @Nonnull
+    public static CronExpression parse(@Nonnull String expression) {
+        Validate.notNull(expression, "Expression must not be null!");
+
+        String normalized = switch (expression.trim().toLowerCase(Locale.ROOT)) {
+            case "@yearly", "@annually" -> "0 0 1 1 *";
+            case "@monthly" -> "0 0 1 * *";
+            case "@weekly" -> "0 0 * * 0";
+            case "@daily", "@midnight" -> "0 0 * * *";
+            case "@hourly" -> "0 * * * *";
+            default -> expression.trim();
+        };
+
+        String[] fields = WHITESPACE.split(normalized);
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Cron expression must have 5 fields, got " + fields.length + ": " + expression);
+        }
+
+        return new CronExpression(expression, fields);
+    }
+
+    @Nullable
+    @Override
+    public ZonedDateTime next(@Nonnull ZonedDateTime after) {
+        ZonedDateTime time = after.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        int limit = after.getYear() + MAX_YEARS;
+
+        while (time.getYear() <= limit) {
+            if (!months.get(time.getMonthValue())) {
+                time = time.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).plusMonths(1);
+            } else if (!matchesDay(time)) {
+                time = time.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            } else if (!hours.get(time.getHour())) {
+                time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            } else if (!minutes.get(time.getMinute())) {
+                time = time.plusMinutes(1);
+            } else {
+                return time;
+            }
+        }
+
+        return null;
+    }
+
+    private boolean matchesDay(ZonedDateTime time) {
+        boolean dayOfMonth = daysOfMonth.get(time.getDayOfMonth());
+        boolean dayOfWeek = daysOfWeek.get(time.getDayOfWeek().getValue() % 7);
+
+        if (anyDayOfMonth) {
+            return dayOfWeek;
+        } else if (anyDayOfWeek) {
+            return dayOfMonth;
+        } else {
+            return dayOfMonth || dayOfWeek;
+        }
+    }
+
+    private static BitSet parseField(String field, int min, int max, @Nullable String[] names) {
+        BitSet result = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            int step = 1;
+            int slash = part.indexOf('/');
+            if (slash != -1) {
+                step = parseValue(part.substring(slash + 1), 1, Integer.MAX_VALUE, null);
+                part = part.substring(0, slash);
+            }
+
+            int start;
+            int end;
+            if (part.equals("*")) {
+                start = min;
+                end = max;
+            } else {
+                int dash = part.indexOf('-');
+                if (dash != -1) {
+                    start = parseValue(part.substring(0, dash), min, max, names);
+                    end = parseValue(part.substring(dash + 1), min, max, names);
+                } else {
+                    start = parseValue(part, min, max, names);
+                    end = slash != -1 ? max : start;
+                }
+            }
+
+            if (start > end) {
+                throw new IllegalArgumentException("Invalid range: " + part);
+            }
+            for (int i = start; i <= end; i += step) {
+                result.set(i);
+            }
+        }
+
+        return result;
+    }
+
+    private static int parseValue(String value, int min, int max, @Nullable String[] names) {
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equalsIgnoreCase(value)) {
+                    // Months are 1 based, days 0 based
+                    return min + i;
+                }
+            }
+        }
+
+        int result;
+        try {
+            result = Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cron value: " + value, ex);
+        }
+        if (result < min || result > max) {
+            throw new IllegalArgumentException("Cron value " + result + " out of range [" + min + " " + max + "]");
+        }
+
+        return result;
+    }
+
+    @Nonnull
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+}
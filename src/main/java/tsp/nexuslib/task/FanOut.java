@@ -0,0 +1,286 @@
+package tsp.nexuslib.task;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs independent blocking subtasks concurrently on virtual threads and joins them.
+ * Modelled after {@code StructuredTaskScope}, which is still a preview API on Java 21.
+ * <pre>{@code
+ * FanOut fanOut = FanOut.shutdownOnFailure().deadline(Duration.ofSeconds(5));
+ * FanOut.Subtask<Stats> stats = fanOut.fork(() -> database.loadStats(uuid));
+ * FanOut.Subtask<SkinInfo> skin = fanOut.fork(() -> mojangAPI.getSkinInfo(uuid).join());
+ * fanOut.joinSync(plugin, done -> show(player, stats.get(), skin.get()), ex -> player.sendMessage("Failed to load!"));
+ * }</pre>
+ * Once the policy is satisfied, the deadline passes or the fan out is cancelled, all unfinished subtasks are interrupted.
+ */
+public class FanOut {
+
+    /**
+     * When a fan out completes
+     * {@link #SHUTDOWN_ON_FAILURE} All subtasks must succeed, the first failure fails the fan out
+     * {@link #SHUTDOWN_ON_SUCCESS} The first successful subtask completes the fan out
+     */
+    public enum Policy {
+        /**
+         * All subtasks must succeed, the first failure fails the fan out
+         */
+        SHUTDOWN_ON_FAILURE,
+        /**
+         * The first successful subtask completes the fan out
+         */
+        SHUTDOWN_ON_SUCCESS
+    }
+
+    private final Policy policy;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CompletableFuture<FanOut> future = new CompletableFuture<>();
+    private final List<Future<?>> running = new ArrayList<>();
+    private final List<Throwable> failures = new ArrayList<>();
+
+    private Duration deadline;
+    private int pending;
+    private boolean joined;
+    private Object result;
+
+    public FanOut(@Nonnull Policy policy) {
+        Validate.notNull(policy, "Policy must not be null!");
+
+        this.policy = policy;
+        this.future.whenComplete((fanOut, ex) -> shutdown());
+    }
+
+    @Nonnull
+    public static FanOut shutdownOnFailure() {
+        return new FanOut(Policy.SHUTDOWN_ON_FAILURE);
+    }
+
+    @Nonnull
+    public static FanOut shutdownOnSuccess() {
+        return new FanOut(Policy.SHUTDOWN_ON_SUCCESS);
+    }
+
+    /**
+     * @param deadline Overall deadline, counted from {@link #join()}. The fan out fails with a {@link java.util.concurrent.TimeoutException} afterwards.
+     */
+    public FanOut deadline(@Nullable Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * Starts a subtask on a new virtual thread
+     *
+     * @param callable The subtask. May block.
+     * @return Handle of the subtask
+     */
+    @Nonnull
+    public synchronized <T> Subtask<T> fork(@Nonnull Callable<? extends T> callable) {
+        Validate.notNull(callable, "Callable must not be null!");
+        if (joined) {
+            throw new IllegalStateException("Can not fork after join!");
+        }
+
+        Subtask<T> subtask = new Subtask<>();
+        if (future.isDone()) {
+            return subtask;
+        }
+
+        pending++;
+        running.add(executor.submit(() -> {
+            try {
+                T value = callable.call();
+                subtask.value = value;
+                subtask.state = Subtask.State.SUCCESS;
+                onSuccess(value);
+            } catch (Throwable ex) {
+                subtask.exception = ex;
+                subtask.state = Subtask.State.FAILED;
+                onFailure(ex);
+            }
+        }));
+        return subtask;
+    }
+
+    /**
+     * Stops forking and waits for the policy to be satisfied.
+     *
+     * @return Future completing off the main thread
+     */
+    @Nonnull
+    public synchronized CompletableFuture<FanOut> join() {
+        if (!joined) {
+            joined = true;
+            if (deadline != null) {
+                future.orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            checkDone();
+        }
+
+        return future;
+    }
+
+    /**
+     * Joins and hands the outcome back to the main thread
+     *
+     * @param plugin The plugin used for main thread delivery
+     * @param success Called with this fan out once the policy is satisfied
+     * @param failure Called with the cause if a subtask failed, the deadline passed or the fan out was cancelled
+     */
+    public void joinSync(@Nonnull JavaPlugin plugin, @Nonnull Consumer<FanOut> success, @Nullable Consumer<Throwable> failure) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+        Validate.notNull(success, "Success must not be null!");
+
+        join().whenComplete((fanOut, ex) -> {
+            if (!plugin.isEnabled()) {
+                return;
+            }
+
+            TaskBackends.get().run(plugin, () -> {
+                if (ex == null) {
+                    success.accept(fanOut);
+                } else if (failure != null) {
+                    failure.accept(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                }
+            }, -1, -1);
+        });
+    }
+
+    /**
+     * Cancels the fan out and interrupts all unfinished subtasks
+     */
+    public void cancel() {
+        future.completeExceptionally(new CancellationException("Fan out was cancelled"));
+    }
+
+    /**
+     * Retrieve the result of the first successful subtask
+     *
+     * @return The result
+     * @throws IllegalStateException If the policy is not {@link Policy#SHUTDOWN_ON_SUCCESS} or no subtask succeeded
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T result() {
+        if (policy != Policy.SHUTDOWN_ON_SUCCESS || !future.isDone() || future.isCompletedExceptionally()) {
+            throw new IllegalStateException("No successful result available!");
+        }
+
+        return (T) result;
+    }
+
+    @Nonnull
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    private synchronized void onSuccess(Object value) {
+        pending--;
+        if (policy == Policy.SHUTDOWN_ON_SUCCESS && !future.isDone()) {
+            result = value;
+            future.complete(this);
+            return;
+        }
+
+        checkDone();
+    }
+
+    private synchronized void onFailure(Throwable ex) {
+        pending--;
+        if (future.isDone()) {
+            // Interrupted by shutdown
+            return;
+        }
+
+        if (policy == Policy.SHUTDOWN_ON_FAILURE) {
+            future.completeExceptionally(ex);
+            return;
+        }
+
+        failures.add(ex);
+        checkDone();
+    }
+
+    private void checkDone() {
+        if (!joined || pending > 0 || future.isDone()) {
+            return;
+        }
+
+        if (policy == Policy.SHUTDOWN_ON_FAILURE) {
+            future.complete(this);
+        } else {
+            IllegalStateException ex = new IllegalStateException("No subtask completed successfully!");
+            failures.forEach(ex::addSuppressed);
+            future.completeExceptionally(ex);
+        }
+    }
+
+    private synchronized void shutdown() {
+        for (Future<?> task : running) {
+            task.cancel(true);
+        }
+        running.clear();
+        executor.shutdownNow();
+    }
+
+    /**
+     * A subtask forked by a {@link FanOut}
+     *
+     * @param <T> Type of the result
+     */
+    public static final class Subtask<T> {
+
+        /**
+         * State of a subtask
+         */
+        public enum State {
+            UNAVAILABLE,
+            SUCCESS,
+            FAILED
+        }
+
+        private volatile State state = State.UNAVAILABLE;
+        private volatile T value;
+        private volatile Throwable exception;
+
+        private Subtask() {}
+
+        /**
+         * @return The result
+         * @throws IllegalStateException If the subtask did not succeed
+         */
+        public T get() {
+            if (state != State.SUCCESS) {
+                throw new IllegalStateException("Subtask did not succeed, state: " + state);
+            }
+
+            return value;
+        }
+
+        @Nullable
+        public Throwable exception() {
+            return exception;
+        }
+
+        @Nonnull
+        public State state() {
+            return state;
+        }
+
+    }
+
+}
@@ -0,0 +1,358 @@
+package tsp.nexuslib.task;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Main thread dispatcher with one queue and per-tick time budget per {@link TaskLane}.
+ * Every tick the lanes are drained in priority order until their budget, or the shared tick budget, is used up.
+ * A lane that could not run anything for {@link #setStarvationTicks(int)} ticks is guaranteed one task,
+ * so background work always progresses.
+ * {@link TaskLane#CRITICAL} runs only the tasks that were queued when the tick started, work it queues itself waits for the next tick.
+ * <p>
+ * The driver task only runs while tasks are queued. Tasks may be submitted from any thread.
+ */
+public class LaneDispatcher implements Runnable {
+
+    private static final Map<JavaPlugin, LaneDispatcher> DISPATCHERS = new ConcurrentHashMap<>();
+    private static final TaskLane[] LANES = TaskLane.values();
+
+    private final JavaPlugin plugin;
+    private final Queue<LaneTask>[] queues;
+    private final long[] budgets = new long[LANES.length];
+    private final int[] starved = new int[LANES.length];
+    private long tickBudgetNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    private int starvationTicks = 20;
+    private BukkitTask driver;
+
+    @SuppressWarnings("unchecked")
+    public LaneDispatcher(@Nonnull JavaPlugin plugin) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+
+        this.plugin = plugin;
+        this.queues = new Queue[LANES.length];
+        for (TaskLane lane : LANES) {
+            queues[lane.ordinal()] = new ConcurrentLinkedQueue<>();
+            budgets[lane.ordinal()] = lane.getDefaultBudgetNanos();
+        }
+    }
+
+    /**
+     * Retrieve the shared dispatcher of a plugin
+     *
+     * @param plugin The plugin
+     * @return The dispatcher
+     */
+    @Nonnull
+    public static LaneDispatcher of(@Nonnull JavaPlugin plugin) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+
+        return DISPATCHERS.computeIfAbsent(plugin, LaneDispatcher::new);
+    }
+
+    /**
+     * Shuts down the shared dispatcher of a plugin, if it has one. Called when the plugin disables.
+     *
+     * @param plugin The plugin
+     */
+    public static void shutdown(@Nonnull JavaPlugin plugin) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+
+        LaneDispatcher dispatcher = DISPATCHERS.get(plugin);
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    /**
+     * Queues a task on the main thread
+     *
+     * @param lane The lane to queue the task in
+     * @param task The task
+     * @return Handle of the queued task
+     */
+    @Nonnull
+    public LaneTask submit(@Nonnull TaskLane lane, @Nonnull Runnable task) {
+        Validate.notNull(lane, "Lane must not be null!");
+        Validate.notNull(task, "Task must not be null!");
+
+        return submit(lane, task, null);
+    }
+
+    private LaneTask submit(TaskLane lane, Runnable task, @Nullable ScheduledLaneTask owner) {
+        LaneTask result = new LaneTask(lane, task, queues[lane.ordinal()], owner);
+        queues[lane.ordinal()].add(result);
+        start();
+        return result;
+    }
+
+    /**
+     * Schedules a task whose runs are queued in a lane.
+     * A run is only queued if the previous one already started, so a slow lane does not pile up runs of the same task.
+     * Cancelling the returned task also removes its runs that are still queued.
+     *
+     * @param lane The lane
+     * @param task The task
+     * @param delay Delay in ticks before the first run, below 0 to run on the next tick
+     * @param repeat Ticks between runs, below 0 to run once
+     * @return Handle of the scheduled task
+     */
+    @Nonnull
+    public BukkitTask schedule(@Nonnull TaskLane lane, @Nonnull Runnable task, long delay, long repeat) {
+        Validate.notNull(lane, "Lane must not be null!");
+        Validate.notNull(task, "Task must not be null!");
+
+        ScheduledLaneTask result = new ScheduledLaneTask(plugin, lane, queues[lane.ordinal()]);
+        Runnable run = () -> {
+            result.queued.set(false);
+            task.run();
+        };
+        result.timer = TaskBackends.get().run(plugin, () -> {
+            if (result.queued.compareAndSet(false, true)) {
+                submit(lane, run, result);
+            }
+        }, delay, repeat);
+        if (result.cancelled) {
+            // Cancelled before the timer was assigned
+            result.timer.cancel();
+        }
+        return result;
+    }
+
+    /**
+     * Wraps a task so that every run is queued in a lane instead of running directly
+     *
+     * @param lane The lane
+     * @param task The task
+     * @return Wrapped task
+     */
+    @Nonnull
+    public Runnable wrap(@Nonnull TaskLane lane, @Nonnull Runnable task) {
+        Validate.notNull(lane, "Lane must not be null!");
+        Validate.notNull(task, "Task must not be null!");
+
+        return () -> submit(lane, task);
+    }
+
+    @Override
+    public void run() {
+        long tickStart = System.nanoTime();
+
+        for (TaskLane lane : LANES) {
+            int index = lane.ordinal();
+            Queue<LaneTask> queue = queues[index];
+            boolean starving = starved[index] >= starvationTicks;
+            long laneStart = System.nanoTime();
+            int ran = 0;
+            // Bounded by what is queued now, so a critical task that queues more critical work can not hold the tick forever
+            int remaining = lane == TaskLane.CRITICAL ? queue.size() : Integer.MAX_VALUE;
+
+            LaneTask task;
+            while (remaining > 0 && (task = queue.peek()) != null) {
+                long now = System.nanoTime();
+                boolean overBudget = now - laneStart >= budgets[index]
+                        || (lane != TaskLane.CRITICAL && now - tickStart >= tickBudgetNanos);
+                if (overBudget && (ran > 0 || !starving)) {
+                    break;
+                }
+
+                queue.poll();
+                remaining--;
+                if (task.isCancelled()) {
+                    continue;
+                }
+
+                try {
+                    task.task.run();
+                } catch (Throwable ex) {
+                    plugin.getLogger().log(Level.SEVERE, "Task in lane " + lane + " threw an exception", ex);
+                }
+                ran++;
+            }
+
+            starved[index] = queue.isEmpty() || ran > 0 ? 0 : starved[index] + 1;
+        }
+
+        stopIfIdle();
+    }
+
+    private synchronized void start() {
+        if (driver == null || driver.isCancelled()) {
+            driver = TaskBackends.get().run(plugin, this, 0, 1);
+        }
+    }
+
+    // Submitting also synchronizes on this, so a task queued after the check restarts the driver
+    private synchronized void stopIfIdle() {
+        for (Queue<LaneTask> queue : queues) {
+            if (!queue.isEmpty()) {
+                return;
+            }
+        }
+
+        if (driver != null) {
+            driver.cancel();
+            driver = null;
+        }
+    }
+
+    /**
+     * Stops the dispatcher. Queued tasks are dropped.
+     */
+    public synchronized void shutdown() {
+        if (driver != null) {
+            driver.cancel();
+            driver = null;
+        }
+        for (Queue<LaneTask> queue : queues) {
+            queue.clear();
+        }
+        DISPATCHERS.remove(plugin, this);
+    }
+
+    /**
+     * @param lane The lane
+     * @param budget Time the lane may spend per tick
+     * @param unit Unit of the budget
+     */
+    public void setBudget(@Nonnull TaskLane lane, long budget, @Nonnull TimeUnit unit) {
+        Validate.notNull(lane, "Lane must not be null!");
+        Validate.notNull(unit, "Unit must not be null!");
+
+        budgets[lane.ordinal()] = unit.toNanos(budget);
+    }
+
+    /**
+     * @param budget Total time all non critical lanes may spend per tick
+     * @param unit Unit of the budget
+     */
+    public void setTickBudget(long budget, @Nonnull TimeUnit unit) {
+        Validate.notNull(unit, "Unit must not be null!");
+
+        this.tickBudgetNanos = unit.toNanos(budget);
+    }
+
+    /**
+     * @param starvationTicks Ticks a non empty lane may go without running before it is guaranteed a task
+     */
+    public void setStarvationTicks(int starvationTicks) {
+        Validate.isTrue(starvationTicks > 0, "Starvation ticks must be > 0, got " + starvationTicks);
+
+        this.starvationTicks = starvationTicks;
+    }
+
+    /**
+     * @param lane The lane
+     * @return Amount of queued tasks in the lane
+     */
+    public int getQueued(@Nonnull TaskLane lane) {
+        return queues[lane.ordinal()].size();
+    }
+
+    /**
+     * A task queued in a {@link LaneDispatcher}
+     */
+    public static final class LaneTask {
+
+        private final TaskLane lane;
+        private final Runnable task;
+        private final Queue<LaneTask> queue;
+        private final ScheduledLaneTask owner;
+        private volatile boolean cancelled;
+
+        private LaneTask(TaskLane lane, Runnable task, Queue<LaneTask> queue, @Nullable ScheduledLaneTask owner) {
+            this.lane = lane;
+            this.task = task;
+            this.queue = queue;
+            this.owner = owner;
+        }
+
+        /**
+         * Cancels this task and removes it from its lane if it did not run yet
+         */
+        public void cancel() {
+            this.cancelled = true;
+            queue.remove(this);
+        }
+
+        public boolean isCancelled() {
+            return cancelled || (owner != null && owner.cancelled);
+        }
+
+        @Nonnull
+        public TaskLane getLane() {
+            return lane;
+        }
+
+    }
+
+    /**
+     * A task scheduled through {@link #schedule(TaskLane, Runnable, long, long)}.
+     * Cancelling it stops the timer and removes the runs that are still queued.
+     */
+    private static final class ScheduledLaneTask implements BukkitTask {
+
+        private final Plugin owner;
+        private final TaskLane lane;
+        private final Queue<LaneTask> queue;
+        // Set while a run is queued and did not start yet
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private volatile BukkitTask timer;
+        private volatile boolean cancelled;
+
+        private ScheduledLaneTask(Plugin owner, TaskLane lane, Queue<LaneTask> queue) {
+            this.owner = owner;
+            this.lane = lane;
+            this.queue = queue;
+        }
+
+        @Override
+        public int getTaskId() {
+            return timer != null ? timer.getTaskId() : -1;
+        }
+
+        @Nonnull
+        @Override
+        public Plugin getOwner() {
+            return owner;
+        }
+
+        @Override
+        public boolean isSync() {
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled || (timer != null && timer.isCancelled());
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            if (timer != null) {
+                timer.cancel();
+            }
+            queue.removeIf(task -> task.owner == this);
+        }
+
+        @Override
+        public String toString() {
+            return "ScheduledLaneTask{lane=" + lane + ", cancelled=" + cancelled + '}';
+        }
+
+    }
+
+}
@@ -0,0 +1,155 @@
+package tsp.nexuslib.task;
+
+import io.papermc.paper.threadedregions.scheduler.AsyncScheduler;
+import io.papermc.paper.threadedregions.scheduler.EntityScheduler;
+import io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler;
+import io.papermc.paper.threadedregions.scheduler.RegionScheduler;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * {@link TaskBackend} using the regionized schedulers (global region, region, entity and async).
+ * Required on Folia, where the {@link org.bukkit.scheduler.BukkitScheduler} is unsupported.
+ * On Paper these schedulers run everything on the main thread.
+ */
+public class RegionizedTaskBackend implements TaskBackend {
+
+    @Nonnull
+    @Override
+    public BukkitTask run(@Nonnull JavaPlugin plugin, @Nonnull Runnable task, long delay, long period) {
+        Consumer<ScheduledTask> consumer = scheduled -> task.run();
+        GlobalRegionScheduler scheduler = plugin.getServer().getGlobalRegionScheduler();
+
+        if (period > -1) {
+            return new RegionizedTask(plugin, scheduler.runAtFixedRate(plugin, consumer, Math.max(1, delay), Math.max(1, period)), true);
+        } else if (delay > 0) {
+            return new RegionizedTask(plugin, scheduler.runDelayed(plugin, consumer, delay), true);
+        } else {
+            return new RegionizedTask(plugin, scheduler.run(plugin, consumer), true);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public BukkitTask runAsync(@Nonnull JavaPlugin plugin, @Nonnull Runnable task, long delay, long period) {
+        Consumer<ScheduledTask> consumer = scheduled -> task.run();
+        AsyncScheduler scheduler = plugin.getServer().getAsyncScheduler();
+
+        if (period > -1) {
+            return new RegionizedTask(plugin, scheduler.runAtFixedRate(plugin, consumer, Math.max(0, delay) * 50, Math.max(1, period) * 50, TimeUnit.MILLISECONDS), false);
+        } else if (delay > 0) {
+            return new RegionizedTask(plugin, scheduler.runDelayed(plugin, consumer, delay * 50, TimeUnit.MILLISECONDS), false);
+        } else {
+            return new RegionizedTask(plugin, scheduler.runNow(plugin, consumer), false);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public BukkitTask runAt(@Nonnull JavaPlugin plugin, @Nonnull Location location, @Nonnull Runnable task, long delay, long period) {
+        Consumer<ScheduledTask> consumer = scheduled -> task.run();
+        RegionScheduler scheduler = plugin.getServer().getRegionScheduler();
+
+        if (period > -1) {
+            return new RegionizedTask(plugin, scheduler.runAtFixedRate(plugin, location, consumer, Math.max(1, delay), Math.max(1, period)), true);
+        } else if (delay > 0) {
+            return new RegionizedTask(plugin, scheduler.runDelayed(plugin, location, consumer, delay), true);
+        } else {
+            return new RegionizedTask(plugin, scheduler.run(plugin, location, consumer), true);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public BukkitTask runFor(@Nonnull JavaPlugin plugin, @Nonnull Entity entity, @Nonnull Runnable task, long delay, long period) {
+        Consumer<ScheduledTask> consumer = scheduled -> task.run();
+        EntityScheduler scheduler = entity.getScheduler();
+
+        // The scheduled task is null if the entity was already removed
+        if (period > -1) {
+            return new RegionizedTask(plugin, scheduler.runAtFixedRate(plugin, consumer, null, Math.max(1, delay), Math.max(1, period)), true);
+        } else if (delay > 0) {
+            return new RegionizedTask(plugin, scheduler.runDelayed(plugin, consumer, null, delay), true);
+        } else {
+            return new RegionizedTask(plugin, scheduler.run(plugin, consumer, null), true);
+        }
+    }
+
+    @Override
+    public boolean isActive(@Nonnull BukkitTask task) {
+        if (task instanceof RegionizedTask regionized) {
+            return regionized.isActive();
+        }
+
+        return !task.isCancelled();
+    }
+
+    /**
+     * Exposes a {@link ScheduledTask} as a {@link BukkitTask}.
+     * Task ids are negative so they never collide with ids handed out by the {@link org.bukkit.scheduler.BukkitScheduler}.
+     */
+    static final class RegionizedTask implements BukkitTask {
+
+        private static final AtomicInteger IDS = new AtomicInteger();
+
+        private final int id = IDS.decrementAndGet();
+        private final Plugin owner;
+        private final ScheduledTask task;
+        private final boolean sync;
+
+        RegionizedTask(@Nonnull Plugin owner, @Nullable ScheduledTask task, boolean sync) {
+            this.owner = owner;
+            this.task = task;
+            this.sync = sync;
+        }
+
+        @Override
+        public int getTaskId() {
+            return id;
+        }
+
+        @Nonnull
+        @Override
+        public Plugin getOwner() {
+            return owner;
+        }
+
+        @Override
+        public boolean isSync() {
+            return sync;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task == null || task.isCancelled();
+        }
+
+        @Override
+        public void cancel() {
+            if (task != null) {
+                task.cancel();
+            }
+        }
+
+        boolean isActive() {
+            if (task == null) {
+                return false;
+            }
+
+            ScheduledTask.ExecutionState state = task.getExecutionState();
+            return state == ScheduledTask.ExecutionState.IDLE || state == ScheduledTask.ExecutionState.RUNNING;
+        }
+
+    }
+
+}
@@ -1,7 +1,8 @@
 package tsp.nexuslib.task;
 
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitScheduler;
 import org.bukkit.scheduler.BukkitTask;
 import tsp.nexuslib.util.Validate;
 
@@ -20,9 +21,13 @@ import java.util.Optional;
 public class SimpleTask {
 
     private Runnable task;
+    private String name;
     private long delay;
     private long repeat;
     private boolean async;
+    private Location location;
+    private Entity entity;
+    private TaskLane lane;
 
     public SimpleTask(@Nullable Runnable task) {
         this.task = task;
@@ -39,7 +44,7 @@ public class SimpleTask {
 
     public SimpleTask delay(@Nonnull Duration delay) {
         Validate.notNull(delay, "Delay must not be null!");
-        this.delay = delay.toSeconds() * 20;
+        this.delay = Task.toTicks(delay);
         return this;
     }
 
@@ -50,7 +55,7 @@ public class SimpleTask {
 
     public SimpleTask repeat(@Nonnull Duration repeat) {
         Validate.notNull(repeat, "Repeat must not be null!");
-        this.repeat = repeat.toSeconds() * 20;
+        this.repeat = Task.toTicks(repeat);
         return this;
     }
 
@@ -59,16 +64,73 @@ public class SimpleTask {
         return this;
     }
 
+    /**
+     * Sets the name this task is recorded under by the {@link TaskProfiler}
+     *
+     * @param name The task name
+     * @return This task
+     */
+    public SimpleTask name(@Nullable String name) {
+        this.name = name;
+        return this;
+    }
+
     public SimpleTask async(boolean async) {
         this.async = async;
         return this;
     }
 
+    /**
+     * Sets the location whose region this task runs in when running regionized
+     *
+     * @param location The location, or null for the global region
+     * @return This task
+     */
+    public SimpleTask location(@Nullable Location location) {
+        this.location = location;
+        return this;
+    }
+
+    /**
+     * Sets the entity this task follows when running regionized. Takes precedence over the location.
+     *
+     * @param entity The entity, or null
+     * @return This task
+     */
+    public SimpleTask entity(@Nullable Entity entity) {
+        this.entity = entity;
+        return this;
+    }
+
+    /**
+     * Queues every main thread run of this task in a priority lane of the plugins {@link LaneDispatcher}.
+     * Ignored for tasks bound to an entity or location.
+     *
+     * @param lane The lane, or null to run directly
+     * @return This task
+     */
+    public SimpleTask lane(@Nullable TaskLane lane) {
+        this.lane = lane;
+        return this;
+    }
+
     @Nonnull
     public Optional<Runnable> getTask() {
         return Optional.ofNullable(task);
     }
 
+    /**
+     * @return The profiler name, defaults to the class name of the runnable
+     */
+    @Nonnull
+    public String getName() {
+        if (name != null) {
+            return name;
+        }
+
+        return task != null ? task.getClass().getName() : getClass().getName();
+    }
+
     public long getDelay() {
         return delay;
     }
@@ -81,8 +143,23 @@ public class SimpleTask {
         return async;
     }
 
+    @Nullable
+    public Location getLocation() {
+        return location;
+    }
+
+    @Nullable
+    public Entity getEntity() {
+        return entity;
+    }
+
+    @Nullable
+    public TaskLane getLane() {
+        return lane;
+    }
+
     /**
-     * Schedules this {@link Task} using {@link BukkitScheduler}
+     * Schedules this {@link Task} using the current {@link TaskBackend}
      *
      * @param plugin Instance of the plugin which is scheduling this task
      * @return BukkitTask result
@@ -92,33 +169,26 @@ public class SimpleTask {
         Validate.notNull(plugin, "Plugin must not be null!");
         Validate.notNull(task, "Task must not be null!");
 
-        BukkitScheduler scheduler = plugin.getServer().getScheduler();
+        TaskBackend backend = TaskBackends.get();
+        Runnable task = TaskProfiler.wrap(plugin, getName(), this.task);
 
         if (isAsync()) {
-            if (repeat > -1 && delay > -1) {
-                return scheduler.runTaskTimerAsynchronously(plugin, task, delay, repeat);
-            } else if (repeat > -1) {
-                return scheduler.runTaskTimerAsynchronously(plugin, task, 0, repeat);
-            } else if (delay > -1) {
-                return scheduler.runTaskLaterAsynchronously(plugin, task, delay);
-            } else {
-                return scheduler.runTaskAsynchronously(plugin, task);
-            }
+            return backend.runAsync(plugin, task, delay, repeat);
+        }
+
+        if (entity != null) {
+            return backend.runFor(plugin, entity, task, delay, repeat);
+        } else if (location != null) {
+            return backend.runAt(plugin, location, task, delay, repeat);
+        } else if (lane != null) {
+            return LaneDispatcher.of(plugin).schedule(lane, task, delay, repeat);
         } else {
-            if (repeat > -1 && delay > -1) {
-                return scheduler.runTaskTimer(plugin, task, delay, repeat);
-            } else if (repeat > -1) {
-                return scheduler.runTaskTimer(plugin, task, 0, repeat);
-            } else if (delay > -1) {
-                return scheduler.runTaskLater(plugin, task, delay);
-            } else {
-                return scheduler.runTask(plugin, task);
-            }
+            return backend.run(plugin, task, delay, repeat);
         }
     }
 
     /**
-     * Schedules multiple {@link Task}'s using {@link BukkitScheduler}
+     * Schedules multiple {@link Task}'s using the current {@link TaskBackend}
      *
      * @param plugin Instance of the plugin which is scheduling this task
      * @param tasks The tasks to schedule
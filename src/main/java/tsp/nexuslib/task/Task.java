@@ -1,11 +1,13 @@
 package tsp.nexuslib.task;
 
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitScheduler;
 import org.bukkit.scheduler.BukkitTask;
 import tsp.nexuslib.util.Validate;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,11 +28,11 @@ public interface Task extends Runnable {
     }
 
     default long getDelayTicks() {
-        return getDelay().toSeconds() * 20;
+        return toTicks(getDelay());
     }
 
     default long getRepeatIntervalTicks() {
-        return getRepeatInterval().toSeconds() * 20;
+        return toTicks(getRepeatInterval());
     }
 
     default boolean isAsync() {
@@ -38,7 +40,91 @@ public interface Task extends Runnable {
     }
 
     /**
-     * Schedules this {@link Task} using {@link BukkitScheduler}
+     * The location whose region this task runs in when running regionized.
+     *
+     * @return The location, or null to run on the global region
+     * @see TaskBackend#runAt(JavaPlugin, Location, Runnable, long, long)
+     */
+    @Nullable
+    default Location getLocation() {
+        return null;
+    }
+
+    /**
+     * The entity this task follows when running regionized. Takes precedence over {@link #getLocation()}.
+     *
+     * @return The entity, or null
+     * @see TaskBackend#runFor(JavaPlugin, Entity, Runnable, long, long)
+     */
+    @Nullable
+    default Entity getEntity() {
+        return null;
+    }
+
+    /**
+     * The priority of this task when scheduled through an {@link AdaptiveScheduler}.
+     *
+     * @return Task priority
+     */
+    @Nonnull
+    default TaskPriority getPriority() {
+        return TaskPriority.NORMAL;
+    }
+
+    /**
+     * The shortest repeat interval an {@link AdaptiveScheduler} will use, applied while the server is healthy.
+     *
+     * @return Minimum repeat interval
+     */
+    default Duration getMinRepeatInterval() {
+        return getRepeatInterval();
+    }
+
+    /**
+     * The longest repeat interval an {@link AdaptiveScheduler} may stretch this task to under load.
+     *
+     * @return Maximum repeat interval
+     */
+    default Duration getMaxRepeatInterval() {
+        return getRepeatInterval();
+    }
+
+    /**
+     * The priority lane main thread runs of this task are queued in.
+     * Ignored for tasks bound to an entity or location.
+     *
+     * @return The lane, or null to run directly
+     * @see LaneDispatcher
+     */
+    @Nullable
+    default TaskLane getLane() {
+        return null;
+    }
+
+    /**
+     * The name this task is recorded under by the {@link TaskProfiler}.
+     *
+     * @return Task name, defaults to the class name
+     */
+    @Nonnull
+    default String getTaskName() {
+        return getClass().getName();
+    }
+
+    /**
+     * Converts a duration to server ticks (50ms each), rounding down.
+     *
+     * @param duration The duration
+     * @return The ticks, or -1 if the duration is negative
+     */
+    static long toTicks(@Nonnull Duration duration) {
+        Validate.notNull(duration, "Duration must not be null!");
+
+        return duration.isNegative() ? -1 : duration.toMillis() / 50;
+    }
+
+    /**
+     * Schedules this {@link Task} using the current {@link TaskBackend}
      *
      * @param plugin Instance of the plugin which is scheduling this task
      * @return BukkitTask result
@@ -47,35 +133,35 @@ public interface Task extends Runnable {
     default BukkitTask schedule(@Nonnull JavaPlugin plugin) {
         Validate.notNull(plugin, "Plugin must not be null!");
 
-        BukkitScheduler scheduler = plugin.getServer().getScheduler();
+        TaskBackend backend = TaskBackends.get();
         long repeat = this.getRepeatIntervalTicks();
         long delay = this.getDelayTicks();
+        Runnable task = TaskProfiler.wrap(plugin, getTaskName(), this);
 
         if (isAsync()) {
-            if (repeat > -1 && delay > -1) {
-                return scheduler.runTaskTimerAsynchronously(plugin, this, delay, repeat);
-            } else if (repeat > -1) {
-                return scheduler.runTaskTimerAsynchronously(plugin, this, 0, repeat);
-            } else if (delay > -1) {
-                return scheduler.runTaskLaterAsynchronously(plugin, this, delay);
-            } else {
-                return scheduler.runTaskAsynchronously(plugin, this);
-            }
-        } else {
-            if (repeat > -1 && delay > -1) {
-                return scheduler.runTaskTimer(plugin, this, delay, repeat);
-            } else if (repeat > -1) {
-                return scheduler.runTaskTimer(plugin, this, 0, repeat);
-            } else if (delay > -1) {
-                return scheduler.runTaskLater(plugin, this, delay);
-            } else {
-                return scheduler.runTask(plugin, this);
-            }
+            return backend.runAsync(plugin, task, delay, repeat);
+        }
+
+        Entity entity = getEntity();
+        if (entity != null) {
+            return backend.runFor(plugin, entity, task, delay, repeat);
+        }
+
+        Location location = getLocation();
+        if (location != null) {
+            return backend.runAt(plugin, location, task, delay, repeat);
         }
+
+        TaskLane lane = getLane();
+        if (lane != null) {
+            return LaneDispatcher.of(plugin).schedule(lane, task, delay, repeat);
+        }
+
+        return backend.run(plugin, task, delay, repeat);
     }
 
     /**
-     * Schedules multiple {@link Task}'s using {@link BukkitScheduler}
+     * Schedules multiple {@link Task}'s using the current {@link TaskBackend}
      *
      * @param plugin Instance of the plugin which is scheduling this task
      * @param tasks The tasks to schedule
@@ -0,0 +1,82 @@
+package tsp.nexuslib.task;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The scheduler used by {@link Task} and {@link SimpleTask} to run their work.
+ * A delay below 0 runs the task on the next possible tick, a period below 0 runs it only once.
+ *
+ * @see TaskBackends
+ * @see BukkitTaskBackend
+ * @see RegionizedTaskBackend
+ */
+public interface TaskBackend {
+
+    /**
+     * Runs a task on the main thread, or the global region when running regionized.
+     *
+     * @param plugin The plugin owning the task
+     * @param task The task
+     * @param delay Delay in ticks
+     * @param period Period in ticks
+     * @return BukkitTask result
+     */
+    @Nonnull
+    BukkitTask run(@Nonnull JavaPlugin plugin, @Nonnull Runnable task, long delay, long period);
+
+    /**
+     * Runs a task off the main thread.
+     *
+     * @param plugin The plugin owning the task
+     * @param task The task
+     * @param delay Delay in ticks
+     * @param period Period in ticks
+     * @return BukkitTask result
+     */
+    @Nonnull
+    BukkitTask runAsync(@Nonnull JavaPlugin plugin, @Nonnull Runnable task, long delay, long period);
+
+    /**
+     * Runs a task on the thread owning the region of a location.
+     *
+     * @param plugin The plugin owning the task
+     * @param location The location
+     * @param task The task
+     * @param delay Delay in ticks
+     * @param period Period in ticks
+     * @return BukkitTask result
+     */
+    @Nonnull
+    default BukkitTask runAt(@Nonnull JavaPlugin plugin, @Nonnull Location location, @Nonnull Runnable task, long delay, long period) {
+        return run(plugin, task, delay, period);
+    }
+
+    /**
+     * Runs a task on the thread owning an entity. The task follows the entity across regions.
+     *
+     * @param plugin The plugin owning the task
+     * @param entity The entity
+     * @param task The task
+     * @param delay Delay in ticks
+     * @param period Period in ticks
+     * @return BukkitTask result
+     */
+    @Nonnull
+    default BukkitTask runFor(@Nonnull JavaPlugin plugin, @Nonnull Entity entity, @Nonnull Runnable task, long delay, long period) {
+        return run(plugin, task, delay, period);
+    }
+
+    /**
+     * Check if a task scheduled through this backend is still queued or running
+     *
+     * @param task The task
+     * @return True if the task will still run
+     */
+    boolean isActive(@Nonnull BukkitTask task);
+
+}
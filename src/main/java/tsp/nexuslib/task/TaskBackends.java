@@ -0,0 +1,55 @@
+package tsp.nexuslib.task;
+
+import tsp.nexuslib.server.ServerUtils;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Holds the {@link TaskBackend} used by {@link Task} and {@link SimpleTask}.
+ * Defaults to the {@link RegionizedTaskBackend} on Folia and the {@link BukkitTaskBackend} otherwise.
+ * A stub backend can be set for testing.
+ */
+public final class TaskBackends {
+
+    private static volatile TaskBackend backend;
+
+    private TaskBackends() {}
+
+    /**
+     * @return The current backend
+     */
+    @Nonnull
+    public static TaskBackend get() {
+        TaskBackend result = backend;
+        if (result == null) {
+            synchronized (TaskBackends.class) {
+                if (backend == null) {
+                    backend = ServerUtils.isFolia() ? new RegionizedTaskBackend() : new BukkitTaskBackend();
+                }
+                result = backend;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Replaces the backend for every task scheduled from now on
+     *
+     * @param backend The new backend
+     */
+    public static void set(@Nonnull TaskBackend backend) {
+        Validate.notNull(backend, "Backend must not be null!");
+
+        TaskBackends.backend = backend;
+    }
+
+    /**
+     * Resets to the detected default backend
+     */
+    public static void reset() {
+        backend = null;
+    }
+
+}
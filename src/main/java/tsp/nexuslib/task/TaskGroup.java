@@ -0,0 +1,186 @@
+package tsp.nexuslib.task;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A group of tasks bound to an owner (a player, an arena, a plugin...).
+ * Cancelling the group cancels every task in it, so no task keeps running on stale state.
+ *
+ * @see TaskGroupManager
+ */
+public class TaskGroup {
+
+    private static final int PURGE_THRESHOLD = 64;
+
+    private final JavaPlugin plugin;
+    private final Object owner;
+    private final Map<Integer, BukkitTask> tasks = new ConcurrentHashMap<>();
+    private volatile boolean cancelled;
+    private int purgeAt = PURGE_THRESHOLD;
+
+    public TaskGroup(@Nonnull JavaPlugin plugin, @Nonnull Object owner) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+        Validate.notNull(owner, "Owner must not be null!");
+
+        this.plugin = plugin;
+        this.owner = owner;
+    }
+
+    /**
+     * Adds an already scheduled task to this group.
+     * If the group was cancelled the task is cancelled immediately.
+     *
+     * @param task The task to track
+     * @return The task
+     */
+    @Nonnull
+    public BukkitTask add(@Nonnull BukkitTask task) {
+        Validate.notNull(task, "Task must not be null!");
+
+        if (cancelled) {
+            task.cancel();
+            return task;
+        }
+
+        tasks.put(task.getTaskId(), task);
+        if (tasks.size() >= purgeAt) {
+            purge();
+            purgeAt = Math.max(PURGE_THRESHOLD, tasks.size() * 2);
+        }
+
+        // Cancelled concurrently, make sure the task does not escape
+        if (cancelled) {
+            cancel();
+        }
+        return task;
+    }
+
+    /**
+     * Schedules a {@link Task} and adds it to this group
+     *
+     * @param task The task to schedule
+     * @return BukkitTask result
+     */
+    @Nonnull
+    public BukkitTask schedule(@Nonnull Task task) {
+        Validate.notNull(task, "Task must not be null!");
+
+        return add(task.schedule(plugin));
+    }
+
+    /**
+     * Schedules a {@link SimpleTask} and adds it to this group
+     *
+     * @param task The task to schedule
+     * @return BukkitTask result
+     */
+    @Nonnull
+    public BukkitTask schedule(@Nonnull SimpleTask task) {
+        Validate.notNull(task, "Task must not be null!");
+
+        return add(task.schedule(plugin));
+    }
+
+    /**
+     * Schedules multiple {@link Task}'s and adds them to this group
+     *
+     * @param tasks The tasks to schedule
+     * @return BukkitTask result
+     * @see Task#schedule(JavaPlugin, Task...)
+     */
+    @Nonnull
+    public List<BukkitTask> schedule(@Nonnull Task... tasks) {
+        Validate.notNull(tasks, "Tasks must not be null!");
+
+        List<BukkitTask> result = new ArrayList<>(tasks.length);
+        for (Task task : tasks) {
+            result.add(schedule(task));
+        }
+
+        return result;
+    }
+
+    /**
+     * Stops tracking a task without cancelling it
+     *
+     * @param task The task to remove
+     * @return True if the task was tracked
+     */
+    public boolean remove(@Nonnull BukkitTask task) {
+        Validate.notNull(task, "Task must not be null!");
+
+        return tasks.remove(task.getTaskId(), task);
+    }
+
+    /**
+     * Cancels every task in this group. Tasks added afterwards are cancelled immediately.
+     *
+     * @return Amount of tasks cancelled
+     */
+    public int cancel() {
+        cancelled = true;
+
+        int amount = 0;
+        for (Iterator<BukkitTask> iterator = tasks.values().iterator(); iterator.hasNext(); ) {
+            BukkitTask task = iterator.next();
+            iterator.remove();
+            if (!task.isCancelled()) {
+                task.cancel();
+                amount++;
+            }
+        }
+
+        return amount;
+    }
+
+    /**
+     * Removes tasks that already finished or were cancelled elsewhere.
+     *
+     * @return Amount of tasks removed
+     */
+    public int purge() {
+        TaskBackend backend = TaskBackends.get();
+
+        int amount = 0;
+        for (Iterator<BukkitTask> iterator = tasks.values().iterator(); iterator.hasNext(); ) {
+            BukkitTask task = iterator.next();
+            if (!backend.isActive(task)) {
+                iterator.remove();
+                amount++;
+            }
+        }
+
+        return amount;
+    }
+
+    /**
+     * @return Amount of tracked tasks. May include finished tasks that were not purged yet.
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Nonnull
+    public Object getOwner() {
+        return owner;
+    }
+
+    @Nonnull
+    public JavaPlugin getPlugin() {
+        return plugin;
+    }
+
+}
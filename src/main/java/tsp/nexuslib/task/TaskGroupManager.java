@@ -0,0 +1,127 @@
+package tsp.nexuslib.task;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of {@link TaskGroup}'s by owner.
+ * Player groups are cancelled when the player quits and all groups are cancelled when the plugin disables.
+ * The {@link LaneDispatcher} and the default {@link BatchTask} pool of the plugin are shut down when it disables as well.
+ * Requires to be registered.
+ */
+public class TaskGroupManager implements Listener {
+
+    private final JavaPlugin plugin;
+    private final Map<Object, TaskGroup> groups = new ConcurrentHashMap<>();
+
+    public TaskGroupManager(@Nonnull JavaPlugin plugin) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+
+        this.plugin = plugin;
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Retrieve or create the group of an owner
+     *
+     * @param owner The owner. Must have a stable equals/hashCode.
+     * @return The group
+     */
+    @Nonnull
+    public TaskGroup of(@Nonnull Object owner) {
+        Validate.notNull(owner, "Owner must not be null!");
+
+        return groups.computeIfAbsent(owner, key -> new TaskGroup(plugin, key));
+    }
+
+    /**
+     * Retrieve or create the group of a player. Cancelled automatically when the player quits.
+     *
+     * @param player The unique id of the player
+     * @return The group
+     */
+    @Nonnull
+    public TaskGroup of(@Nonnull UUID player) {
+        return of((Object) player);
+    }
+
+    @Nonnull
+    public TaskGroup of(@Nonnull Player player) {
+        Validate.notNull(player, "Player must not be null!");
+
+        return of(player.getUniqueId());
+    }
+
+    /**
+     * @return The group bound to the plugin itself
+     */
+    @Nonnull
+    public TaskGroup ofPlugin() {
+        return of((Object) plugin);
+    }
+
+    public Optional<TaskGroup> get(@Nonnull Object owner) {
+        return Optional.ofNullable(groups.get(owner));
+    }
+
+    /**
+     * Cancels and removes the group of an owner, e.g. when an arena resets
+     *
+     * @param owner The owner
+     * @return Amount of tasks cancelled
+     */
+    public int cancel(@Nonnull Object owner) {
+        Validate.notNull(owner, "Owner must not be null!");
+
+        TaskGroup group = groups.remove(owner);
+        return group != null ? group.cancel() : 0;
+    }
+
+    /**
+     * Cancels and removes all groups
+     *
+     * @return Amount of tasks cancelled
+     */
+    public int cancelAll() {
+        int amount = 0;
+        for (Object owner : groups.keySet()) {
+            amount += cancel(owner);
+        }
+
+        return amount;
+    }
+
+    /**
+     * @return Amount of groups
+     */
+    public int size() {
+        return groups.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        cancel(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDisable(PluginDisableEvent event) {
+        if (event.getPlugin().equals(plugin)) {
+            cancelAll();
+            LaneDispatcher.shutdown(plugin);
+            BatchTask.shutdown(plugin);
+        }
+    }
+
+}
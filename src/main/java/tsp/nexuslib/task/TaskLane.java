@@ -0,0 +1,38 @@
+package tsp.nexuslib.task;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Priority lanes of the main thread {@link LaneDispatcher}. Lanes are drained in declaration order.
+ * {@link #CRITICAL} Runs everything queued at the start of the tick
+ * {@link #INTERACTIVE} Latency sensitive work such as GUI click responses
+ * {@link #BACKGROUND} Bulk work such as world edits, runs with whatever budget is left
+ */
+public enum TaskLane {
+    /**
+     * Runs everything queued at the start of the tick, regardless of the budget
+     */
+    CRITICAL(Long.MAX_VALUE),
+    /**
+     * Latency sensitive work such as GUI click responses
+     */
+    INTERACTIVE(TimeUnit.MILLISECONDS.toNanos(5)),
+    /**
+     * Bulk work such as world edits, runs with whatever budget is left
+     */
+    BACKGROUND(TimeUnit.MILLISECONDS.toNanos(3));
+
+    private final long defaultBudgetNanos;
+
+    TaskLane(long defaultBudgetNanos) {
+        this.defaultBudgetNanos = defaultBudgetNanos;
+    }
+
+    /**
+     * @return The default time this lane may spend per tick
+     */
+    public long getDefaultBudgetNanos() {
+        return defaultBudgetNanos;
+    }
+
+}
@@ -0,0 +1,41 @@
+package tsp.nexuslib.task;
+
+/**
+ * Priority of a {@link Task} scheduled through an {@link AdaptiveScheduler}.
+ * {@link #CRITICAL} Never throttled
+ * {@link #HIGH} Interval stretched under load, never skipped
+ * {@link #NORMAL} Interval stretched under load, never skipped
+ * {@link #LOW} Interval stretched under load and runs skipped when the server is overloaded
+ */
+public enum TaskPriority {
+    /**
+     * Never throttled
+     */
+    CRITICAL,
+    /**
+     * Interval stretched under load, never skipped.
+     * Stretched half as much as {@link #NORMAL}
+     */
+    HIGH,
+    /**
+     * Interval stretched under load, never skipped
+     */
+    NORMAL,
+    /**
+     * Interval stretched under load and runs skipped when the server is overloaded
+     */
+    LOW;
+
+    /**
+     * @param load The current load factor (0 - 1)
+     * @return The share of the interval range to stretch by
+     */
+    double stretch(double load) {
+        return switch (this) {
+            case CRITICAL -> 0;
+            case HIGH -> load / 2;
+            case NORMAL, LOW -> load;
+        };
+    }
+
+}
@@ -0,0 +1,91 @@
+package tsp.nexuslib.task;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of the statistics recorded by the {@link TaskProfiler} for a single task.
+ *
+ * @param name The task name
+ * @param invocations Total amount of runs
+ * @param syncInvocations Amount of runs on the main thread
+ * @param totalNanos Total time spent running
+ * @param syncNanos Time spent running on the main thread
+ * @param maxNanos Longest single run
+ * @param histogram Run counts per bucket, see {@link TaskProfiler#BUCKETS_MICROS}
+ */
+public record TaskProfile(String name, long invocations, long syncInvocations, long totalNanos, long syncNanos, long maxNanos, long[] histogram) {
+
+    public TaskProfile {
+        histogram = histogram.clone();
+    }
+
+    /**
+     * @return A copy of the run counts per bucket
+     */
+    @Override
+    public long[] histogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * @return Average duration of a single run in milliseconds
+     */
+    public double averageMillis() {
+        return invocations == 0 ? 0 : totalNanos / (double) invocations / 1_000_000D;
+    }
+
+    public double maxMillis() {
+        return maxNanos / 1_000_000D;
+    }
+
+    public double totalMillis() {
+        return totalNanos / 1_000_000D;
+    }
+
+    /**
+     * The share of a 50ms tick an average main thread run of this task takes up.
+     *
+     * @return Tick impact, where 1.0 is a full tick
+     */
+    public double tickImpact() {
+        return syncInvocations == 0 ? 0 : syncNanos / (double) syncInvocations / 50_000_000D;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskProfile that)) {
+            return false;
+        }
+
+        return invocations == that.invocations
+                && syncInvocations == that.syncInvocations
+                && totalNanos == that.totalNanos
+                && syncNanos == that.syncNanos
+                && maxNanos == that.maxNanos
+                && name.equals(that.name)
+                && Arrays.equals(histogram, that.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(name, invocations, syncInvocations, totalNanos, syncNanos, maxNanos) + Arrays.hashCode(histogram);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskProfile{" +
+                "name='" + name + '\'' +
+                ", invocations=" + invocations +
+                ", syncInvocations=" + syncInvocations +
+                ", totalNanos=" + totalNanos +
+                ", syncNanos=" + syncNanos +
+                ", maxNanos=" + maxNanos +
+                ", histogram=" + Arrays.toString(histogram) +
+                '}';
+    }
+
+}
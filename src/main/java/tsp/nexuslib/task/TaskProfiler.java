@@ -0,0 +1,217 @@
+package tsp.nexuslib.task;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Opt-in profiler for {@link Task} and {@link SimpleTask} executions.
+ * When enabled, every runnable scheduled through {@link Task#schedule(org.bukkit.plugin.java.JavaPlugin)}
+ * or {@link SimpleTask#schedule(org.bukkit.plugin.java.JavaPlugin)} is wrapped and timed.
+ */
+public final class TaskProfiler {
+
+    /**
+     * Upper bounds (exclusive, in microseconds) of the histogram buckets.
+     * The last bucket collects everything above the last bound.
+     */
+    public static final long[] BUCKETS_MICROS = {100, 500, 1_000, 5_000, 10_000, 25_000, 50_000};
+
+    // Minimum time between two slow task warnings of the same task
+    private static final long WARNING_INTERVAL_NANOS = Duration.ofSeconds(30).toNanos();
+
+    private static final Map<String, Statistics> STATISTICS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+    private static volatile long thresholdNanos = Duration.ofMillis(25).toNanos();
+
+    private TaskProfiler() {}
+
+    /**
+     * Enables profiling for tasks scheduled from now on.
+     *
+     * @param threshold Runs that take longer than this will be logged as slow
+     */
+    public static void enable(@Nonnull Duration threshold) {
+        Validate.notNull(threshold, "Threshold must not be null!");
+
+        thresholdNanos = threshold.toNanos();
+        enabled = true;
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Disables profiling. Already wrapped tasks stop recording but keep running normally.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static Duration getThreshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    /**
+     * Clears all recorded statistics.
+     */
+    public static void reset() {
+        STATISTICS.clear();
+    }
+
+    /**
+     * Wraps a runnable so that its executions are recorded under the given name.
+     * If profiling is disabled the runnable is returned as is.
+     *
+     * @param plugin The plugin owning the task, used for slow task warnings
+     * @param name The name to record the task under
+     * @param task The task to wrap
+     * @return The wrapped task
+     */
+    @Nonnull
+    public static Runnable wrap(@Nonnull Plugin plugin, @Nonnull String name, @Nonnull Runnable task) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+        Validate.notNull(name, "Name must not be null!");
+        Validate.notNull(task, "Task must not be null!");
+
+        if (!enabled) {
+            return task;
+        }
+
+        return () -> {
+            if (!enabled) {
+                task.run();
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                boolean sync = Bukkit.isPrimaryThread();
+                Statistics statistics = STATISTICS.computeIfAbsent(name, Statistics::new);
+                statistics.record(elapsed, sync);
+                if (elapsed > thresholdNanos) {
+                    long suppressed = statistics.tryWarn(start + elapsed);
+                    if (suppressed >= 0) {
+                        plugin.getLogger().log(Level.WARNING, String.format(
+                                Locale.ROOT,
+                                "Slow task '%s' took %.2fms (threshold %.2fms, %s)%s",
+                                name, elapsed / 1_000_000D, thresholdNanos / 1_000_000D, sync ? "main thread" : "async",
+                                suppressed > 0 ? ", " + suppressed + " more slow runs since the last warning" : ""
+                        ));
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Retrieve a snapshot of all recorded tasks, sorted by total time spent (highest first).
+     *
+     * @return Profile snapshots
+     */
+    @Nonnull
+    public static List<TaskProfile> snapshot() {
+        List<TaskProfile> result = new ArrayList<>(STATISTICS.size());
+        for (Statistics statistics : STATISTICS.values()) {
+            result.add(statistics.snapshot());
+        }
+
+        result.sort(Comparator.comparingLong(TaskProfile::totalNanos).reversed());
+        return result;
+    }
+
+    /**
+     * Running statistics of a single task name.
+     */
+    private static final class Statistics {
+
+        private final String name;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder syncInvocations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder syncNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder[] histogram = new LongAdder[BUCKETS_MICROS.length + 1];
+        private final AtomicLong lastWarning = new AtomicLong(Long.MIN_VALUE);
+        private final LongAdder suppressedWarnings = new LongAdder();
+
+        private Statistics(String name) {
+            this.name = name;
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos, boolean sync) {
+            invocations.increment();
+            totalNanos.add(nanos);
+            if (sync) {
+                syncInvocations.increment();
+                syncNanos.add(nanos);
+            }
+            maxNanos.accumulateAndGet(nanos, Math::max);
+
+            long micros = nanos / 1_000;
+            int bucket = 0;
+            while (bucket < BUCKETS_MICROS.length && micros >= BUCKETS_MICROS[bucket]) {
+                bucket++;
+            }
+            histogram[bucket].increment();
+        }
+
+        /**
+         * A task that is always slow would otherwise log on every run
+         *
+         * @param now The current {@link System#nanoTime()}
+         * @return The amount of warnings suppressed since the last one, or -1 if this one must be suppressed as well
+         */
+        private long tryWarn(long now) {
+            long last = lastWarning.get();
+            if ((last != Long.MIN_VALUE && now - last < WARNING_INTERVAL_NANOS) || !lastWarning.compareAndSet(last, now)) {
+                suppressedWarnings.increment();
+                return -1;
+            }
+
+            return suppressedWarnings.sumThenReset();
+        }
+
+        private TaskProfile snapshot() {
+            long[] buckets = new long[histogram.length];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = histogram[i].sum();
+            }
+
+            return new TaskProfile(
+                    name,
+                    invocations.sum(),
+                    syncInvocations.sum(),
+                    totalNanos.sum(),
+                    syncNanos.sum(),
+                    maxNanos.get(),
+                    buckets
+            );
+        }
+
+    }
+
+}
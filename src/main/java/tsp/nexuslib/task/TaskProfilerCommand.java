@@ -0,0 +1,116 @@
+package tsp.nexuslib.task;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import tsp.nexuslib.util.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Small report command for the {@link TaskProfiler}.
+ * Requires to be registered, e.g. {@code plugin.getCommand("tasks").setExecutor(new TaskProfilerCommand())}
+ * <p>
+ * Usage: {@code /<command> [amount] | on | off | reset}
+ */
+public class TaskProfilerCommand implements CommandExecutor, TabCompleter {
+
+    private static final int DEFAULT_AMOUNT = 10;
+
+    @Override
+    public boolean onCommand(@Nonnull CommandSender sender, @Nonnull Command command, @Nonnull String label, @Nonnull String[] args) {
+        if (args.length > 0) {
+            switch (args[0].toLowerCase(Locale.ROOT)) {
+                case "on" -> {
+                    TaskProfiler.enable();
+                    sender.sendMessage(StringUtils.colorize("&aTask profiling enabled. Only tasks scheduled from now on are recorded."));
+                    return true;
+                }
+                case "off" -> {
+                    TaskProfiler.disable();
+                    sender.sendMessage(StringUtils.colorize("&cTask profiling disabled."));
+                    return true;
+                }
+                case "reset" -> {
+                    TaskProfiler.reset();
+                    sender.sendMessage(StringUtils.colorize("&7Task profiler statistics cleared."));
+                    return true;
+                }
+                default -> {
+                    // Fall through to the report
+                }
+            }
+        }
+
+        int amount = args.length > 0 ? parseAmount(args[0]) : DEFAULT_AMOUNT;
+        List<TaskProfile> profiles = TaskProfiler.snapshot();
+        if (profiles.isEmpty()) {
+            sender.sendMessage(StringUtils.colorize(TaskProfiler.isEnabled()
+                    ? "&7No task runs recorded yet."
+                    : "&7Task profiling is disabled. Use &e/" + label + " on &7to enable it."));
+            return true;
+        }
+
+        sender.sendMessage(StringUtils.colorize(String.format(
+                Locale.ROOT,
+                "&3&lTask Profiler &7(%d tasks, threshold %dms)",
+                profiles.size(), TaskProfiler.getThreshold().toMillis()
+        )));
+        for (int i = 0; i < Math.min(amount, profiles.size()); i++) {
+            TaskProfile profile = profiles.get(i);
+            sender.sendMessage(StringUtils.colorize(String.format(
+                    Locale.ROOT,
+                    "&e%s &7runs: &f%d &7total: &f%.1fms &7avg: &f%.3fms &7max: &c%.2fms &7tick: &f%.1f%%",
+                    profile.name(), profile.invocations(), profile.totalMillis(), profile.averageMillis(), profile.maxMillis(), profile.tickImpact() * 100
+            )));
+            sender.sendMessage(StringUtils.colorize(formatHistogram(profile.histogram())));
+        }
+
+        return true;
+    }
+
+    // e.g. "  <0.1ms: 120 <0.5ms: 14 ... >=50ms: 1", empty buckets are skipped
+    private String formatHistogram(long[] histogram) {
+        StringBuilder builder = new StringBuilder("  &8");
+        long[] bounds = TaskProfiler.BUCKETS_MICROS;
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] == 0) {
+                continue;
+            }
+
+            String bound = i < bounds.length
+                    ? "<" + formatMicros(bounds[i])
+                    : ">=" + formatMicros(bounds[bounds.length - 1]);
+            builder.append("&7").append(bound).append(": &f").append(histogram[i]).append(' ');
+        }
+
+        return builder.toString().stripTrailing();
+    }
+
+    private String formatMicros(long micros) {
+        return micros % 1_000 == 0
+                ? micros / 1_000 + "ms"
+                : String.format(Locale.ROOT, "%.1fms", micros / 1_000D);
+    }
+
+    private int parseAmount(String input) {
+        try {
+            return Math.max(1, Integer.parseInt(input));
+        } catch (NumberFormatException ex) {
+            return DEFAULT_AMOUNT;
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(@Nonnull CommandSender sender, @Nonnull Command command, @Nonnull String label, @Nonnull String[] args) {
+        if (args.length == 1) {
+            return List.of("on", "off", "reset", String.valueOf(DEFAULT_AMOUNT));
+        }
+
+        return List.of();
+    }
+
+}
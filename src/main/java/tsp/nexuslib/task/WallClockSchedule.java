@@ -0,0 +1,86 @@
+package tsp.nexuslib.task;
+
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+/**
+ * A recurring point in wall-clock time, evaluated by the {@link WallClockScheduler}
+ *
+ * @see CronExpression
+ */
+@FunctionalInterface
+public interface WallClockSchedule {
+
+    /**
+     * Retrieve the next execution time strictly after the given time
+     *
+     * @param after The time to start searching from
+     * @return The next execution time, or null if this schedule never fires again
+     */
+    @Nullable
+    ZonedDateTime next(@Nonnull ZonedDateTime after);
+
+    /**
+     * @param expression A 5 field cron expression (minute hour day-of-month month day-of-week)
+     * @return Schedule of the expression
+     * @see CronExpression#parse(String)
+     */
+    @Nonnull
+    static WallClockSchedule cron(@Nonnull String expression) {
+        return CronExpression.parse(expression);
+    }
+
+    /**
+     * Fires every interval, aligned to midnight. E.g. 15 minutes fires at :00, :15, :30 and :45.
+     * Intervals that do not divide a day are restarted at every midnight.
+     *
+     * @param interval The interval
+     * @return Aligned schedule
+     */
+    @Nonnull
+    static WallClockSchedule aligned(@Nonnull Duration interval) {
+        Validate.notNull(interval, "Interval must not be null!");
+        Validate.isTrue(interval.toSeconds() > 0, "Interval must be at least one second!");
+
+        long seconds = interval.toSeconds();
+        return after -> {
+            ZonedDateTime midnight = after.toLocalDate().atStartOfDay(after.getZone());
+            long elapsed = Duration.between(midnight, after).toSeconds();
+            ZonedDateTime next = midnight.plusSeconds((elapsed / seconds + 1) * seconds);
+            ZonedDateTime nextMidnight = after.toLocalDate().plusDays(1).atStartOfDay(after.getZone());
+            return next.isBefore(nextMidnight) ? next : nextMidnight;
+        };
+    }
+
+    /**
+     * Fires every day at the given times
+     *
+     * @param times The times of day
+     * @return Daily schedule
+     */
+    @Nonnull
+    static WallClockSchedule daily(@Nonnull LocalTime... times) {
+        Validate.notNull(times, "Times must not be null!");
+        Validate.isTrue(times.length > 0, "At least one time is required!");
+
+        LocalTime[] sorted = times.clone();
+        Arrays.sort(sorted);
+        return after -> {
+            for (LocalTime time : sorted) {
+                ZonedDateTime candidate = ZonedDateTime.of(after.toLocalDate(), time, after.getZone());
+                if (candidate.isAfter(after)) {
+                    return candidate;
+                }
+            }
+
+            return ZonedDateTime.of(after.toLocalDate().plusDays(1), sorted[0], after.getZone());
+        };
+    }
+
+}
@@ -0,0 +1,243 @@
+package tsp.nexuslib.task;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import tsp.nexuslib.util.Validate;
+
+import javax.annotation.Nonnull;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+/**
+ * Runs {@link WallClockSchedule}'s on the wall-clock instead of server ticks, so they do not drift when the TPS drops.
+ * All schedules are evaluated by a single timer thread, which only dispatches the work:
+ * either to the main thread or to the async scheduler of the current {@link TaskBackend}.
+ * <p>
+ * The next execution is always computed from the schedule itself, and the timer re-checks the clock at least
+ * every {@link #MAX_WAIT_MILLIS}, which corrects for clock adjustments and missed wake ups.
+ */
+public class WallClockScheduler {
+
+    /**
+     * Maximum time the timer thread sleeps before re-checking the wall-clock
+     */
+    public static final long MAX_WAIT_MILLIS = 30_000;
+
+    private final JavaPlugin plugin;
+    private final ZoneId zone;
+    private final PriorityQueue<Job> queue = new PriorityQueue<>(Comparator.comparingLong(job -> job.nextRun));
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * @param plugin The plugin owning the schedules
+     * @param zone The zone schedules are evaluated in
+     */
+    public WallClockScheduler(@Nonnull JavaPlugin plugin, @Nonnull ZoneId zone) {
+        Validate.notNull(plugin, "Plugin must not be null!");
+        Validate.notNull(zone, "Zone must not be null!");
+
+        this.plugin = plugin;
+        this.zone = zone;
+        this.thread = new Thread(this::loop, plugin.getName() + "-WallClockScheduler");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public WallClockScheduler(@Nonnull JavaPlugin plugin) {
+        this(plugin, ZoneId.systemDefault());
+    }
+
+    /**
+     * Schedules a task
+     *
+     * @param schedule When to run the task
+     * @param task The task
+     * @param mainThread Whether the task should run on the main thread
+     * @return Handle of the scheduled job
+     */
+    @Nonnull
+    public Job schedule(@Nonnull WallClockSchedule schedule, @Nonnull Runnable task, boolean mainThread) {
+        Validate.notNull(schedule, "Schedule must not be null!");
+        Validate.notNull(task, "Task must not be null!");
+        if (!running) {
+            throw new IllegalStateException("Scheduler has been shut down!");
+        }
+
+        Job job = new Job(schedule, task, mainThread);
+        ZonedDateTime next = schedule.next(ZonedDateTime.now(zone));
+        if (next == null) {
+            job.cancelled = true;
+            return job;
+        }
+
+        job.nextRun = next.toInstant().toEpochMilli();
+        lock.lock();
+        try {
+            queue.add(job);
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        return job;
+    }
+
+    @Nonnull
+    public Job schedule(@Nonnull String cron, @Nonnull Runnable task, boolean mainThread) {
+        return schedule(CronExpression.parse(cron), task, mainThread);
+    }
+
+    /**
+     * Stops the timer thread and drops all jobs
+     */
+    public void shutdown() {
+        running = false;
+        lock.lock();
+        try {
+            queue.clear();
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return All scheduled jobs
+     */
+    @Nonnull
+    public List<Job> getJobs() {
+        lock.lock();
+        try {
+            return new ArrayList<>(queue);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void loop() {
+        while (running) {
+            Job due = null;
+            lock.lock();
+            try {
+                Job head = queue.peek();
+                if (head == null) {
+                    changed.await(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+
+                long wait = head.nextRun - System.currentTimeMillis();
+                if (head.cancelled) {
+                    queue.poll();
+                } else if (wait > 0) {
+                    changed.await(Math.min(wait, MAX_WAIT_MILLIS), TimeUnit.MILLISECONDS);
+                } else {
+                    due = queue.poll();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (due != null) {
+                fire(due);
+            }
+        }
+    }
+
+    private void fire(Job job) {
+        if (!plugin.isEnabled()) {
+            shutdown();
+            return;
+        }
+
+        try {
+            if (job.mainThread) {
+                TaskBackends.get().run(plugin, job.task, -1, -1);
+            } else {
+                TaskBackends.get().runAsync(plugin, job.task, -1, -1);
+            }
+        } catch (RuntimeException ex) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to dispatch wall-clock job " + job.schedule, ex);
+        }
+
+        // Compute from whichever is later, so a late wake up skips missed runs instead of bursting them
+        long from = Math.max(job.nextRun, System.currentTimeMillis());
+        ZonedDateTime next;
+        try {
+            next = job.schedule.next(ZonedDateTime.ofInstant(Instant.ofEpochMilli(from), zone));
+        } catch (RuntimeException ex) {
+            // A broken schedule must not take the timer thread and every other job down with it
+            plugin.getLogger().log(Level.SEVERE, "Failed to compute the next run of wall-clock job " + job.schedule + ", cancelling it", ex);
+            job.cancelled = true;
+            return;
+        }
+        if (next == null || job.cancelled) {
+            job.cancelled = true;
+            return;
+        }
+
+        lock.lock();
+        try {
+            job.nextRun = next.toInstant().toEpochMilli();
+            queue.add(job);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A task scheduled on a {@link WallClockScheduler}
+     */
+    public static final class Job {
+
+        private final WallClockSchedule schedule;
+        private final Runnable task;
+        private final boolean mainThread;
+        private volatile long nextRun;
+        private volatile boolean cancelled;
+
+        private Job(WallClockSchedule schedule, Runnable task, boolean mainThread) {
+            this.schedule = schedule;
+            this.task = task;
+            this.mainThread = mainThread;
+        }
+
+        /**
+         * Cancels this job. It is dropped the next time the timer thread reaches it.
+         */
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Nonnull
+        public WallClockSchedule getSchedule() {
+            return schedule;
+        }
+
+        /**
+         * @return The next execution time in epoch milliseconds
+         */
+        public long getNextRun() {
+            return nextRun;
+        }
+
+    }
+
+}
@@ -4,6 +4,10 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Utility class for managing inventories
@@ -60,7 +64,7 @@ public final class InventoryUtils {
             if (!onlyEmpty) {
                 inventory.setItem(slot, itemStack);
             } else {
-                ItemStack slotItem = inventory.getItem(i);
+                ItemStack slotItem = inventory.getItem(slot);
                 if (slotItem == null || slotItem.getType().isAir()) {
                     inventory.setItem(slot, itemStack);
                 }
@@ -105,4 +109,278 @@ public final class InventoryUtils {
         }
     }
 
+    /**
+     * Takes a single snapshot of the contents, lets the operation modify it and applies it with a single update
+     *
+     * @param inventory The target {@link Inventory}
+     * @param operation Modifies the contents in place
+     */
+    public static void apply(Inventory inventory, Consumer<ItemStack[]> operation) {
+        ItemStack[] contents = inventory.getContents();
+        operation.accept(contents);
+        inventory.setContents(contents);
+    }
+
+    /**
+     * @param slots The slots
+     * @return A mask with the slots set, for the ignored slots of the array based operations
+     */
+    public static BitSet slotMask(int... slots) {
+        BitSet mask = new BitSet();
+        for (int slot : slots) {
+            mask.set(slot);
+        }
+        return mask;
+    }
+
+    /**
+     * Fill the borders of an {@link Inventory} with a single update
+     *
+     * @param inventory The target {@link Inventory}
+     * @param item Item to use for filling
+     */
+    public static void fillBorderBulk(Inventory inventory, ItemStack item) {
+        apply(inventory, contents -> fillBorder(contents, item));
+    }
+
+    /**
+     * Fills a row in an {@link Inventory} with a single update
+     *
+     * @param inventory The target {@link Inventory}
+     * @param rowIndex Index of the row to fill (0 - 6)
+     * @param item The {@link ItemStack} to use for filling
+     * @param onlyEmpty If only empty slots should be filled
+     */
+    public static void fillRowBulk(Inventory inventory, int rowIndex, ItemStack item, boolean onlyEmpty) {
+        apply(inventory, contents -> fillRow(contents, rowIndex, item, onlyEmpty));
+    }
+
+    /**
+     * Fills the empty slots of an {@link Inventory} with a single update
+     *
+     * @param inventory The target {@link Inventory}
+     * @param item The {@link ItemStack} used for filling empty slots
+     * @param ignored Ignored slots. May be null.
+     */
+    public static void fillBulk(Inventory inventory, ItemStack item, BitSet ignored) {
+        apply(inventory, contents -> fill(contents, item, ignored));
+    }
+
+    /**
+     * Fill the borders of the contents of a chest like inventory
+     *
+     * @param contents The contents, modified in place
+     * @param item Item to use for filling
+     */
+    public static void fillBorder(ItemStack[] contents, ItemStack item) {
+        int size = contents.length;
+        int rows = size / 9;
+
+        Arrays.fill(contents, 0, Math.min(9, size), item);
+        if (size > 9) {
+            Arrays.fill(contents, size - 9, size, item);
+            for (int row = 1; row < rows - 1; row++) {
+                contents[row * 9] = item;
+                contents[row * 9 + 8] = item;
+            }
+        }
+    }
+
+    /**
+     * Fills a row of the contents
+     *
+     * @param contents The contents, modified in place
+     * @param rowIndex Index of the row to fill (0 - 6)
+     * @param item The {@link ItemStack} to use for filling
+     * @param onlyEmpty If only empty slots should be filled
+     */
+    public static void fillRow(ItemStack[] contents, int rowIndex, ItemStack item, boolean onlyEmpty) {
+        int from = rowIndex * 9;
+        for (int slot = from; slot < from + 9 && slot < contents.length; slot++) {
+            if (!onlyEmpty || isEmpty(contents[slot])) {
+                contents[slot] = item;
+            }
+        }
+    }
+
+    /**
+     * Fills the empty slots of the contents
+     *
+     * @param contents The contents, modified in place
+     * @param item The {@link ItemStack} used for filling empty slots
+     * @param ignored Ignored slots. May be null.
+     */
+    public static void fill(ItemStack[] contents, ItemStack item, BitSet ignored) {
+        for (int slot = 0; slot < contents.length; slot++) {
+            if ((ignored == null || !ignored.get(slot)) && isEmpty(contents[slot])) {
+                contents[slot] = item;
+            }
+        }
+    }
+
+    /**
+     * Copies the contents of an inventory. Must be called on the thread owning the inventory.
+     * {@link Inventory#getContents()} returns mirrors of the live items, which are not safe to read while the inventory changes.
+     *
+     * @param inventory The inventory
+     * @return A copy of every item, safe to pass to another thread
+     */
+    public static ItemStack[] snapshot(Inventory inventory) {
+        ItemStack[] contents = inventory.getContents();
+        for (int slot = 0; slot < contents.length; slot++) {
+            if (contents[slot] != null) {
+                contents[slot] = contents[slot].clone();
+            }
+        }
+        return contents;
+    }
+
+    /**
+     * Counts the matching items in contents. Safe to call off the main thread on a {@link #snapshot(Inventory)}.
+     *
+     * @param contents The contents
+     * @param matcher The matcher
+     * @return The total amount of matching items
+     */
+    public static int count(ItemStack[] contents, ItemMatcher matcher) {
+        int count = 0;
+        for (ItemStack item : contents) {
+            if (matcher.test(item)) {
+                count += item.getAmount();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param inventory The inventory
+     * @param matcher The matcher
+     * @return The total amount of matching items
+     */
+    public static int count(Inventory inventory, ItemMatcher matcher) {
+        return count(inventory.getContents(), matcher);
+    }
+
+    /**
+     * @param inventories The inventories
+     * @param matcher The matcher
+     * @return The total amount of matching items in all inventories
+     */
+    public static long count(Collection<? extends Inventory> inventories, ItemMatcher matcher) {
+        long count = 0;
+        for (Inventory inventory : inventories) {
+            count += count(inventory, matcher);
+        }
+        return count;
+    }
+
+    /**
+     * Checks for matching items in contents. Safe to call off the main thread on a {@link #snapshot(Inventory)}.
+     *
+     * @param contents The contents
+     * @param matcher The matcher
+     * @param amount The required amount
+     * @return True if there are at least that many matching items
+     */
+    public static boolean contains(ItemStack[] contents, ItemMatcher matcher, int amount) {
+        int count = 0;
+        for (ItemStack item : contents) {
+            if (matcher.test(item)) {
+                count += item.getAmount();
+                if (count >= amount) {
+                    return true;
+                }
+            }
+        }
+        return amount <= 0;
+    }
+
+    /**
+     * @param inventory The inventory
+     * @param matcher The matcher
+     * @param amount The required amount
+     * @return True if there are at least that many matching items
+     */
+    public static boolean contains(Inventory inventory, ItemMatcher matcher, int amount) {
+        return contains(inventory.getContents(), matcher, amount);
+    }
+
+    /**
+     * Removes matching items from contents in place. Safe to call off the main thread on a {@link #snapshot(Inventory)}.
+     *
+     * @param contents The contents, modified in place
+     * @param matcher The matcher
+     * @param amount The amount to remove
+     * @return The amount that was removed, less than requested if there were not enough matching items
+     */
+    public static int remove(ItemStack[] contents, ItemMatcher matcher, int amount) {
+        int remaining = amount;
+        for (int slot = 0; slot < contents.length && remaining > 0; slot++) {
+            ItemStack item = contents[slot];
+            if (!matcher.test(item)) {
+                continue;
+            }
+
+            if (item.getAmount() <= remaining) {
+                remaining -= item.getAmount();
+                contents[slot] = null;
+            } else {
+                // Do not modify the item of the caller
+                ItemStack rest = item.clone();
+                rest.setAmount(item.getAmount() - remaining);
+                contents[slot] = rest;
+                remaining = 0;
+            }
+        }
+        return amount - remaining;
+    }
+
+    /**
+     * Removes matching items, only if there are enough of them
+     *
+     * @param inventory The inventory
+     * @param matcher The matcher
+     * @param amount The amount to remove
+     * @return True if the items were removed, false if there were not enough and nothing was removed
+     */
+    public static boolean remove(Inventory inventory, ItemMatcher matcher, int amount) {
+        return remove(List.of(inventory), matcher, amount);
+    }
+
+    /**
+     * Removes matching items from the inventories in order, e.g. the inventory and then the ender chest of a player.
+     * Only removes them if there are enough of them in all inventories together.
+     *
+     * @param inventories The inventories
+     * @param matcher The matcher
+     * @param amount The amount to remove
+     * @return True if the items were removed, false if there were not enough and nothing was removed
+     */
+    public static boolean remove(Collection<? extends Inventory> inventories, ItemMatcher matcher, int amount) {
+        Inventory[] targets = inventories.toArray(new Inventory[0]);
+        ItemStack[][] snapshots = new ItemStack[targets.length][];
+        long available = 0;
+        for (int i = 0; i < targets.length && available < amount; i++) {
+            snapshots[i] = targets[i].getContents();
+            available += count(snapshots[i], matcher);
+        }
+        if (available < amount) {
+            return false;
+        }
+
+        int remaining = amount;
+        for (int i = 0; i < targets.length && remaining > 0; i++) {
+            int removed = remove(snapshots[i], matcher, remaining);
+            if (removed > 0) {
+                targets[i].setContents(snapshots[i]);
+                remaining -= removed;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEmpty(ItemStack item) {
+        return item == null || item.getType().isAir();
+    }
+
 }
@@ -0,0 +1,72 @@
+package tsp.nexuslib.util;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import java.util.function.Predicate;
+
+/**
+ * Matches items similar to a template, ignoring the amount.
+ * The state of the template is read once, most items are rejected by their material
+ * or by whether they have meta at all, before the full {@link ItemStack#isSimilar(ItemStack)} check.
+ * A template with meta still pays a full {@link ItemStack#isSimilar(ItemStack)} for every candidate of its material that has meta.
+ */
+public final class ItemMatcher implements Predicate<ItemStack> {
+
+    private final ItemStack template;
+    private final Material type;
+    private final boolean matchMeta;
+    private final boolean hasMeta;
+
+    private ItemMatcher(ItemStack template, Material type, boolean matchMeta) {
+        this.template = template;
+        this.type = type;
+        this.matchMeta = matchMeta;
+        this.hasMeta = template != null && template.hasItemMeta();
+    }
+
+    /**
+     * @param template The template item
+     * @return A matcher for items similar to the template
+     */
+    @Nonnull
+    public static ItemMatcher of(@Nonnull ItemStack template) {
+        Validate.notNull(template, "Template must not be null!");
+
+        return new ItemMatcher(template.clone(), template.getType(), true);
+    }
+
+    /**
+     * @param type The material
+     * @return A matcher for all items of the material, regardless of their meta
+     */
+    @Nonnull
+    public static ItemMatcher of(@Nonnull Material type) {
+        Validate.notNull(type, "Type must not be null!");
+
+        return new ItemMatcher(null, type, false);
+    }
+
+    @Override
+    public boolean test(ItemStack item) {
+        if (item == null || item.getType() != type) {
+            return false;
+        }
+        if (!matchMeta) {
+            return true;
+        }
+        if (item.hasItemMeta() != hasMeta) {
+            return false;
+        }
+
+        // Same material without meta on either side is always similar
+        return !hasMeta || template.isSimilar(item);
+    }
+
+    @Nonnull
+    public Material getType() {
+        return type;
+    }
+
+}